@@ -18,6 +18,10 @@ public class Enums {
         ACCESS, REFRESH
     }
 
+    public enum AuthenticationMode {
+        DATABASE, CLAIMS
+    }
+
     public enum RefreshTokenStatus {
         ACTIVE, REVOKED, EXPIRED
     }
@@ -26,7 +30,23 @@ public class Enums {
         PERCENT, AMOUNT
     }
 
+    public enum ReservationStatus {
+        ACTIVE, CONSUMED, RELEASED, EXPIRED
+    }
+
+    public enum UpsertOutcome {
+        CREATED, UPDATED, UNCHANGED, FAILED
+    }
+
     public enum ReviewStatus {
         PENDING, APPROVED, REJECTED
     }
+
+    public enum IdempotencyStatus {
+        IN_PROGRESS, COMPLETED
+    }
+
+    public enum OutboxStatus {
+        PENDING, PROCESSING, DELIVERED, FAILED
+    }
 }
@@ -0,0 +1,100 @@
+package com.threadcity.jacketshopbackend.common;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.configuration.HttpCacheProperties;
+import com.threadcity.jacketshopbackend.dto.response.PageResponse;
+import com.threadcity.jacketshopbackend.dto.response.Versioned;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Builds GET responses with an ETag, Last-Modified and the endpoint's Cache-Control policy.
+ * The validators come from ids and updatedAt values, never from the serialized body, so the ETag is
+ * weak (the envelope timestamp differs per response) and Spring MVC
+ * answers a matching If-None-Match / If-Modified-Since with 304 before anything is written.
+ *
+ * Pages only get the ETag: a deleted row or items shifting between pages change a page without
+ * advancing any updatedAt on it, so a Last-Modified there would answer If-Modified-Since with a stale 304.
+ */
+@Component
+@RequiredArgsConstructor
+public class HttpCaching {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final HttpCacheProperties properties;
+
+    public <T> ResponseEntity<T> ok(String endpoint, T body, Versioned data) {
+        long hash = mixVersion(FNV_OFFSET, data);
+        return build(endpoint, body, hash, data.getUpdatedAt());
+    }
+
+    public <T> ResponseEntity<T> ok(String endpoint, T body, PageResponse<?> page) {
+        long hash = mix(FNV_OFFSET, page.getPage());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.getTotalElements() == null ? -1 : page.getTotalElements());
+        hash = mix(hash, Boolean.TRUE.equals(page.getHasNext()) ? 1 : 0);
+        hash = mix(hash, page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        if (page.getContents() instanceof Collection<?> contents) {
+            hash = mix(hash, contents.size());
+            for (Object item : contents) {
+                if (item instanceof Versioned versioned) {
+                    hash = mixVersion(hash, versioned);
+                } else {
+                    hash = mix(hash, item == null ? 0 : item.hashCode());
+                }
+            }
+        }
+        return build(endpoint, body, hash, null);
+    }
+
+    public CacheControl cacheControl(String endpoint) {
+        HttpCacheProperties.Policy policy = properties.getEndpoints()
+                .getOrDefault(endpoint, properties.getDefaultPolicy());
+        CacheControl cacheControl = policy.getMaxAge() == null
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(policy.getMaxAge());
+        cacheControl = policy.isCachePrivate() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        if (policy.getSMaxAge() != null) {
+            cacheControl = cacheControl.sMaxAge(policy.getSMaxAge());
+        }
+        if (policy.getStaleWhileRevalidate() != null) {
+            cacheControl = cacheControl.staleWhileRevalidate(policy.getStaleWhileRevalidate());
+        }
+        if (policy.isMustRevalidate()) {
+            cacheControl = cacheControl.mustRevalidate();
+        }
+        return cacheControl;
+    }
+
+    private <T> ResponseEntity<T> build(String endpoint, T body, long hash, Instant lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(cacheControl(endpoint))
+                .eTag("W/\"" + Long.toHexString(hash) + "\"");
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    // Falls back to the DTO's own hashCode when there is no updatedAt to go by
+    private static long mixVersion(long hash, Versioned data) {
+        hash = mix(hash, data.getId() == null ? 0 : data.getId().longValue());
+        Instant updatedAt = data.getUpdatedAt();
+        if (updatedAt == null) {
+            return mix(hash, data.hashCode());
+        }
+        return mix(mix(hash, updatedAt.getEpochSecond()), updatedAt.getNano());
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
@@ -0,0 +1,88 @@
+package com.threadcity.jacketshopbackend.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Opaque cursors for keyset paging. A cursor carries the sort it was created with and
+ * the sort key + id of the last row, so the next page is a seek instead of an OFFSET scan.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetCursorCodec {
+
+    private static final String ID = "id";
+
+    private final ObjectMapper objectMapper;
+
+    // sortKeys: property -> Java type of the property, must contain "id"
+    public Position decode(String cursor, String sortBy, Map<String, Class<?>> sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Position(sortBy, toSort(sortBy, sortKeys), ScrollPosition.keyset());
+        }
+        CursorPayload payload;
+        try {
+            payload = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CursorPayload.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor.");
+        }
+        if (payload.keys() == null || payload.sortBy() == null) {
+            throw new BusinessException("Invalid cursor.");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        payload.keys().forEach((property, value) -> {
+            Class<?> type = sortKeys.get(property);
+            if (type == null) {
+                throw new BusinessException("Invalid cursor.");
+            }
+            keys.put(property, objectMapper.convertValue(value, type));
+        });
+        return new Position(payload.sortBy(), toSort(payload.sortBy(), sortKeys), ScrollPosition.forward(keys));
+    }
+
+    public String nextCursor(Window<?> window, Position position) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        if (!(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition last)) {
+            return null;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new CursorPayload(position.sortBy(), last.getKeys()));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (IOException e) {
+            throw new BusinessException("Cannot create cursor.");
+        }
+    }
+
+    private Sort toSort(String sortBy, Map<String, Class<?>> sortKeys) {
+        String[] sortParams = sortBy.split(",");
+        if (!sortKeys.containsKey(sortParams[0])) {
+            throw new BusinessException("Unsupported sort property for cursor paging: " + sortParams[0]);
+        }
+        Sort.Direction direction = sortParams.length > 1 ? Sort.Direction.fromString(sortParams[1]) : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortParams[0]);
+        // id breaks ties so the seek predicate is unique
+        return ID.equals(sortParams[0]) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    public record Position(String sortBy, Sort sort, KeysetScrollPosition scrollPosition) {
+    }
+
+    private record CursorPayload(String sortBy, Map<String, Object> keys) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.threadcity.jacketshopbackend.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Thread-bound tally of the JDBC statements run while a recording is open. Statements are keyed by
+ * their SQL text, which Hibernate and JdbcTemplate send with bind markers, so the same query issued
+ * once per row (an N+1) shows up as one key with a high count.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static void record(String sql, long elapsedMillis) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.add(sql, elapsedMillis);
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int statementCount;
+        private long elapsedMillis;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql, long millis) {
+            statementCount++;
+            elapsedMillis += millis;
+            countsBySql.merge(sql, 1, Integer::sum);
+            if (parent != null) {
+                parent.add(sql, millis);
+            }
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public Map<String, Integer> getCountsBySql() {
+            return countsBySql;
+        }
+
+        // The statement issued most often, or null when nothing ran
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : countsBySql.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({ CacheProperties.class, HttpCacheProperties.class })
+public class CacheConfig {
+
+    public static final String USER_DETAILS = "userDetails";
+    public static final String BRANDS = "brands";
+    public static final String BRAND_PAGES = "brandPages";
+    public static final String BRAND_COUNTS = "brandCounts";
+    public static final String STYLES = "styles";
+    public static final String STYLE_PAGES = "stylePages";
+    public static final String STYLE_COUNTS = "styleCounts";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(properties.getDefaultSpec()).recordStats());
+        properties.getSpecs().forEach((name, spec) -> cacheManager.registerCustomCache(name,
+                Caffeine.from(spec).recordStats().build()));
+        // Puts and evictions are applied after commit so readers never repopulate stale rows
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
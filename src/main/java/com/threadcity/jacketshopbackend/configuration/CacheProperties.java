@@ -0,0 +1,21 @@
+package com.threadcity.jacketshopbackend.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    // Caffeine spec used for caches without their own entry
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+
+    // cache name -> Caffeine spec, e.g. maximumSize=10000,expireAfterWrite=5m
+    private Map<String, String> specs = new HashMap<>();
+}
@@ -0,0 +1,58 @@
+package com.threadcity.jacketshopbackend.configuration;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.threadcity.jacketshopbackend.common.SqlStatementRecorder;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Routes every JDBC statement, JPA or JdbcTemplate, through SqlStatementRecorder
+@Configuration
+@ConditionalOnProperty(name = "sql.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlRecordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(recordingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static QueryExecutionListener recordingListener() {
+        return new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            // A prepared-statement batch is one entry here and counts once; the elapsed time is the whole execution
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                long elapsed = execInfo.getElapsedTime();
+                for (QueryInfo query : queryInfoList) {
+                    SqlStatementRecorder.record(query.getQuery(), elapsed);
+                    elapsed = 0;
+                }
+            }
+        };
+    }
+}
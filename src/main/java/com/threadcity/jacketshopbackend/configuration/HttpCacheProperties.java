@@ -0,0 +1,33 @@
+package com.threadcity.jacketshopbackend.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    // Used for endpoints without their own entry: revalidate with the ETag every time
+    private Policy defaultPolicy = new Policy();
+
+    // endpoint name -> Cache-Control policy
+    private Map<String, Policy> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        // null means no-cache, clients must revalidate before reuse
+        private Duration maxAge;
+        private Duration sMaxAge;
+        private Duration staleWhileRevalidate;
+        private boolean cachePrivate;
+        private boolean mustRevalidate;
+    }
+}
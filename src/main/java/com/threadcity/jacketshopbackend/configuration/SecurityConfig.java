@@ -42,6 +42,8 @@ public class SecurityConfig {
             "/auth/**",
             "/actuator/health",
             "/actuator/info",
+            // Scraped by Prometheus, actuator is served on the separate management port
+            "/actuator/prometheus",
             "/api/docs/**",
             "/v3/api-docs/**",
             "/swagger-ui/**",
@@ -56,6 +58,9 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers(PUBLIC_ENDPOINT).permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/**").permitAll()
+                // Guest carts: access is checked against the cart's user or guest token
+                .requestMatchers("/api/carts/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/checkout").permitAll()
                 .anyRequest().authenticated());
         http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         http.authenticationProvider(provider());
@@ -68,7 +73,7 @@ public class SecurityConfig {
         CorsConfiguration cfg = new CorsConfiguration();
         cfg.setAllowedOrigins(List.of("http://localhost:5173"));
         cfg.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        cfg.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        cfg.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Cart-Token", "Idempotency-Key"));
         cfg.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
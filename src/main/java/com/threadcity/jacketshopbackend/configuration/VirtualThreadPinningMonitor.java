@@ -0,0 +1,74 @@
+package com.threadcity.jacketshopbackend.configuration;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Streams jdk.VirtualThreadPinned JFR events and logs the pinning stack, so synchronized blocks
+ * (in our code or in the JDBC driver) that hold a carrier thread across blocking I/O show up in the
+ * logs without attaching a profiler.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final int MAX_FRAMES = 12;
+
+    @Value("${web.concurrency.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream stream;
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::logPinned);
+        stream.startAsync();
+        log.info("VirtualThreadPinningMonitor::start - Monitoring pinned virtual threads. [threshold: {}ms]",
+                pinnedThresholdMs);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void logPinned(RecordedEvent event) {
+        String frames = event.getStackTrace() == null ? "<no stack trace>"
+                : event.getStackTrace().getFrames().stream()
+                        .limit(MAX_FRAMES)
+                        .map(VirtualThreadPinningMonitor::describe)
+                        .collect(Collectors.joining("\n\tat "));
+        log.warn("VirtualThreadPinningMonitor::logPinned - Virtual thread pinned. [duration: {}ms, thread: {}]\n\tat {}",
+                event.getDuration().toMillis(),
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                frames);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
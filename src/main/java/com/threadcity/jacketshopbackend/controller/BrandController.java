@@ -1,15 +1,19 @@
 package com.threadcity.jacketshopbackend.controller;
 
+import com.threadcity.jacketshopbackend.common.HttpCaching;
 import com.threadcity.jacketshopbackend.dto.request.BrandRequest;
 import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse;
 import com.threadcity.jacketshopbackend.dto.response.PageResponse;
 import com.threadcity.jacketshopbackend.dto.response.BrandResponse;
 import com.threadcity.jacketshopbackend.service.BrandService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/brands")
@@ -18,42 +22,50 @@ import java.time.Instant;
 public class BrandController {
 
     private final BrandService brandService;
+    private final HttpCaching httpCaching;
 
     @GetMapping
-    public ApiResponse<?> getAllBrands(
+    public ResponseEntity<ApiResponse<?>> getAllBrands(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt,desc") String sortBy
+            @RequestParam(defaultValue = "createdAt,desc") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withCount
     ) {
-        log.info("BrandController::getAllBrands - Execution started");
-        PageResponse<?> pageResponse = brandService.getAllBrand(page, size, sortBy);
-        log.info("BrandController::getAllBrands - Execution completed");
-        return ApiResponse.builder()
+        log.trace("BrandController::getAllBrands - Execution started");
+        // Any cursor parameter, even an empty one, switches to keyset paging
+        PageResponse<?> pageResponse = cursor != null
+                ? brandService.getBrandsByCursor(cursor, size, sortBy)
+                : brandService.getAllBrand(page, size, sortBy, withCount);
+        log.trace("BrandController::getAllBrands - Execution completed");
+        ApiResponse<?> body = ApiResponse.builder()
                 .code(200)
                 .message("Get all brands successfully.")
                 .data(pageResponse)
                 .timestamp(Instant.now())
                 .build();
+        return httpCaching.ok("brandPages", body, pageResponse);
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<?> getBrandById(@PathVariable Long id) {
-        log.info("BrandController::getBrandById - Execution started. [id: {}]", id);
+    public ResponseEntity<ApiResponse<?>> getBrandById(@PathVariable Long id) {
+        log.trace("BrandController::getBrandById - Execution started. [id: {}]", id);
         BrandResponse response = brandService.getBrandById(id);
-        log.info("BrandController::getBrandById - Execution completed. [id: {}]", id);
-        return ApiResponse.builder()
+        log.trace("BrandController::getBrandById - Execution completed. [id: {}]", id);
+        ApiResponse<?> body = ApiResponse.builder()
                 .code(200)
                 .message("Get brand by ID successfully.")
                 .data(response)
                 .timestamp(Instant.now())
                 .build();
+        return httpCaching.ok("brands", body, response);
     }
 
     @PostMapping
     public ApiResponse<?> createBrand(@RequestBody BrandRequest brandRequest) {
-        log.info("BrandController::createBrand - Execution started.");
+        log.trace("BrandController::createBrand - Execution started.");
         BrandResponse response = brandService.createBrand(brandRequest);
-        log.info("BrandController::createBrand - Execution completed.");
+        log.trace("BrandController::createBrand - Execution completed.");
         return ApiResponse.builder()
                 .code(201)
                 .message("Brand created successfully.")
@@ -62,11 +74,24 @@ public class BrandController {
                 .build();
     }
 
+    @PostMapping("/bulk")
+    public ApiResponse<?> upsertBrands(@RequestBody List<BrandRequest> requests) {
+        log.trace("BrandController::upsertBrands - Execution started. [items: {}]", requests.size());
+        BulkUpsertResponse response = brandService.upsertBrands(requests);
+        log.trace("BrandController::upsertBrands - Execution completed.");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Brands upserted successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
     @PutMapping("/{id}")
     public ApiResponse<?> updateBrand(@PathVariable Long id, @RequestBody BrandRequest brandRequest) {
-        log.info("BrandController::updateBrand - Execution started. [id: {}]", id);
+        log.trace("BrandController::updateBrand - Execution started. [id: {}]", id);
         BrandResponse response = brandService.updateBrandById(brandRequest, id);
-        log.info("BrandController::updateBrand - Execution completed. [id: {}]", id);
+        log.trace("BrandController::updateBrand - Execution completed. [id: {}]", id);
         return ApiResponse.builder()
                 .code(200)
                 .message("Brand updated successfully.")
@@ -77,9 +102,9 @@ public class BrandController {
 
     @DeleteMapping("/{id}")
     public ApiResponse<?> deleteBrand(@PathVariable Long id) {
-        log.info("BrandController::deleteBrand - Execution started. [id: {}]", id);
+        log.trace("BrandController::deleteBrand - Execution started. [id: {}]", id);
         brandService.deleteBrand(id);
-        log.info("BrandController::deleteBrand - Execution completed. [id: {}]", id);
+        log.trace("BrandController::deleteBrand - Execution completed. [id: {}]", id);
         return ApiResponse.builder()
                 .code(200)
                 .message("Brand deleted successfully.")
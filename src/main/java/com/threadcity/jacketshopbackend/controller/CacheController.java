@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.CacheStatsResponse;
+import com.threadcity.jacketshopbackend.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/caches")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping
+    public ApiResponse<?> getCacheStats() {
+        log.trace("CacheController::getCacheStats - Execution started");
+        List<CacheStatsResponse> stats = cacheStatsService.getAllStats();
+        log.trace("CacheController::getCacheStats - Execution completed");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get cache statistics successfully.")
+                .data(stats)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.dto.request.CartItemRequest;
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.CartResponse;
+import com.threadcity.jacketshopbackend.service.auth.UserDetailsImpl;
+import com.threadcity.jacketshopbackend.service.cart.CartEngine;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/carts")
+@RequiredArgsConstructor
+@Slf4j
+public class CartController {
+
+    // Guest carts have no user, the token returned on creation stands in for one
+    public static final String CART_TOKEN_HEADER = "X-Cart-Token";
+
+    private final CartEngine cartEngine;
+
+    @PostMapping
+    public ApiResponse<?> createCart(@AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CartController::createCart - Execution started");
+        CartResponse response = cartEngine.createCart(userIdOf(principal));
+        log.trace("CartController::createCart - Execution completed. [cartId: {}]", response.getId());
+        return ApiResponse.builder()
+                .code(201)
+                .message("Create cart successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @GetMapping("/{id}")
+    public ApiResponse<?> getCart(
+            @PathVariable Long id,
+            @RequestHeader(value = CART_TOKEN_HEADER, required = false) String cartToken,
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CartController::getCart - Execution started. [id: {}]", id);
+        CartResponse response = cartEngine.getCart(id, userIdOf(principal), cartToken);
+        log.trace("CartController::getCart - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get cart successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @PutMapping("/{id}/items/{variantId}")
+    public ApiResponse<?> setItemQuantity(
+            @PathVariable Long id,
+            @PathVariable Long variantId,
+            @Valid @RequestBody CartItemRequest request,
+            @RequestHeader(value = CART_TOKEN_HEADER, required = false) String cartToken,
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CartController::setItemQuantity - Execution started. [id: {}, variantId: {}]", id, variantId);
+        CartResponse response = cartEngine.setQuantity(id, userIdOf(principal), cartToken, variantId,
+                request.getQuantity());
+        log.trace("CartController::setItemQuantity - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Update cart item successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @DeleteMapping("/{id}/items/{variantId}")
+    public ApiResponse<?> removeItem(
+            @PathVariable Long id,
+            @PathVariable Long variantId,
+            @RequestHeader(value = CART_TOKEN_HEADER, required = false) String cartToken,
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CartController::removeItem - Execution started. [id: {}, variantId: {}]", id, variantId);
+        CartResponse response = cartEngine.setQuantity(id, userIdOf(principal), cartToken, variantId, 0);
+        log.trace("CartController::removeItem - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Remove cart item successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @DeleteMapping("/{id}/items")
+    public ApiResponse<?> clearCart(
+            @PathVariable Long id,
+            @RequestHeader(value = CART_TOKEN_HEADER, required = false) String cartToken,
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CartController::clearCart - Execution started. [id: {}]", id);
+        CartResponse response = cartEngine.clear(id, userIdOf(principal), cartToken);
+        log.trace("CartController::clearCart - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Clear cart successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private static Long userIdOf(UserDetailsImpl principal) {
+        return principal == null ? null : principal.getId();
+    }
+}
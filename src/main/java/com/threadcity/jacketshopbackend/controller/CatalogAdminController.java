@@ -0,0 +1,69 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.CatalogImportReport;
+import com.threadcity.jacketshopbackend.service.CatalogExportService;
+import com.threadcity.jacketshopbackend.service.CatalogImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/admin/catalog")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class CatalogAdminController {
+
+    private final CatalogImportService catalogImportService;
+    private final CatalogExportService catalogExportService;
+
+    // The raw request body is parsed as it arrives, nothing is buffered as a multipart upload
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ApiResponse<?> importCsv(HttpServletRequest request) throws IOException {
+        log.trace("CatalogAdminController::importCsv - Execution started");
+        CatalogImportReport report = catalogImportService.importCsv(request.getInputStream());
+        log.trace("CatalogAdminController::importCsv - Execution completed");
+        return importResponse(report);
+    }
+
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ApiResponse<?> importJson(HttpServletRequest request) throws IOException {
+        log.trace("CatalogAdminController::importJson - Execution started");
+        CatalogImportReport report = catalogImportService.importJson(request.getInputStream());
+        log.trace("CatalogAdminController::importJson - Execution completed");
+        return importResponse(report);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") CatalogExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince
+    ) {
+        log.trace("CatalogAdminController::export - Execution started. [format: {}]", format);
+        boolean csv = format == CatalogExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog." + (csv ? "csv" : "ndjson") + "\"")
+                .body(output -> catalogExportService.export(format, updatedSince, output));
+    }
+
+    private ApiResponse<?> importResponse(CatalogImportReport report) {
+        return ApiResponse.builder()
+                .code(200)
+                .message("Catalog import finished.")
+                .data(report)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
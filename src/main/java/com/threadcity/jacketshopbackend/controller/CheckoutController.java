@@ -0,0 +1,44 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.dto.request.CheckoutRequest;
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.CheckoutResponse;
+import com.threadcity.jacketshopbackend.service.CheckoutService;
+import com.threadcity.jacketshopbackend.service.auth.UserDetailsImpl;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+@Slf4j
+public class CheckoutController {
+
+    // Clients send the same key when retrying, so a lost response never places a second order
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final CheckoutService checkoutService;
+
+    @PostMapping
+    public ApiResponse<?> checkout(
+            @Valid @RequestBody CheckoutRequest request,
+            @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @RequestHeader(value = CartController.CART_TOKEN_HEADER, required = false) String cartToken,
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        log.trace("CheckoutController::checkout - Execution started. [cartId: {}]", request.getCartId());
+        CheckoutResponse response = checkoutService.checkout(idempotencyKey,
+                principal == null ? null : principal.getId(), cartToken, request);
+        log.trace("CheckoutController::checkout - Execution completed. [orderId: {}]", response.getOrderId());
+        return ApiResponse.builder()
+                .code(response.isReplayed() ? 200 : 201)
+                .message("Place order successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
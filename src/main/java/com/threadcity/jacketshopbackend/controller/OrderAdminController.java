@@ -0,0 +1,53 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.dto.request.OrderStatusRequest;
+import com.threadcity.jacketshopbackend.dto.request.PaymentStatusRequest;
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.StatusChangeResponse;
+import com.threadcity.jacketshopbackend.service.order.OrderService;
+import com.threadcity.jacketshopbackend.service.order.PaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class OrderAdminController {
+
+    private final OrderService orderService;
+    private final PaymentService paymentService;
+
+    @PatchMapping("/orders/{id}/status")
+    public ApiResponse<?> changeOrderStatus(@PathVariable Long id, @Valid @RequestBody OrderStatusRequest request) {
+        log.trace("OrderAdminController::changeOrderStatus - Execution started. [id: {}]", id);
+        StatusChangeResponse response = orderService.changeStatus(id, request.getStatus());
+        log.trace("OrderAdminController::changeOrderStatus - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Update order status successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @PatchMapping("/payments/{id}/status")
+    public ApiResponse<?> changePaymentStatus(@PathVariable Long id, @Valid @RequestBody PaymentStatusRequest request) {
+        log.trace("OrderAdminController::changePaymentStatus - Execution started. [id: {}]", id);
+        StatusChangeResponse response = paymentService.changeStatus(id, request.getStatus(),
+                request.getTransactionId(), request.getFailureReason());
+        log.trace("OrderAdminController::changePaymentStatus - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Update payment status successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
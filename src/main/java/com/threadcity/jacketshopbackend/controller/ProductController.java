@@ -0,0 +1,102 @@
+package com.threadcity.jacketshopbackend.controller;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.ProductCardFilter;
+import com.threadcity.jacketshopbackend.dto.request.ProductSearchRequest;
+import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.PageResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductDetailResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductFacetResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductSearchResponse;
+import com.threadcity.jacketshopbackend.service.ProductCardService;
+import com.threadcity.jacketshopbackend.service.ProductService;
+import com.threadcity.jacketshopbackend.service.search.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductController {
+
+    private final ProductService productService;
+    private final ProductCardService productCardService;
+    private final ProductSearchService productSearchService;
+
+    // Storefront listing, hidden products are never returned whatever the query parameters say
+    @GetMapping
+    public ApiResponse<?> getProducts(
+            @ModelAttribute ProductCardFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt,desc") String sortBy
+    ) {
+        log.trace("ProductController::getProducts - Execution started");
+        PageResponse<?> pageResponse = productCardService.getProductCards(Status.ACTIVE, filter, page, size, sortBy);
+        log.trace("ProductController::getProducts - Execution completed");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get all products successfully.")
+                .data(pageResponse)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @GetMapping("/facets")
+    public ApiResponse<?> getProductFacets(@ModelAttribute ProductCardFilter filter) {
+        log.trace("ProductController::getProductFacets - Execution started");
+        ProductFacetResponse response = productCardService.getFacets(Status.ACTIVE, filter);
+        log.trace("ProductController::getProductFacets - Execution completed");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get product facets successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @GetMapping("/search")
+    public ApiResponse<?> searchProducts(@ModelAttribute ProductSearchRequest request) {
+        log.trace("ProductController::searchProducts - Execution started");
+        ProductSearchResponse response = productSearchService.search(request);
+        log.trace("ProductController::searchProducts - Execution completed");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Search products successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @GetMapping("/search/suggestions")
+    public ApiResponse<?> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<String> suggestions = productSearchService.suggest(q, limit);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get search suggestions successfully.")
+                .data(suggestions)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @GetMapping("/{id}")
+    public ApiResponse<?> getProductById(@PathVariable Long id) {
+        log.trace("ProductController::getProductById - Execution started. [id: {}]", id);
+        ProductDetailResponse response = productService.getProductDetail(Status.ACTIVE, id);
+        log.trace("ProductController::getProductById - Execution completed. [id: {}]", id);
+        return ApiResponse.builder()
+                .code(200)
+                .message("Get product by ID successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package com.threadcity.jacketshopbackend.controller;
 
+import com.threadcity.jacketshopbackend.common.HttpCaching;
 import com.threadcity.jacketshopbackend.dto.request.StyleRequest;
 import com.threadcity.jacketshopbackend.dto.response.ApiResponse;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse;
 import com.threadcity.jacketshopbackend.dto.response.PageResponse;
 import com.threadcity.jacketshopbackend.dto.response.StyleResponse;
 import com.threadcity.jacketshopbackend.service.StyleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/styles")
@@ -18,42 +22,50 @@ import java.time.Instant;
 public class StyleController {
 
     private final StyleService styleService;
+    private final HttpCaching httpCaching;
 
     @GetMapping
-    public ApiResponse<?> getAllStyles(
+    public ResponseEntity<ApiResponse<?>> getAllStyles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt,desc") String sortBy
+            @RequestParam(defaultValue = "createdAt,desc") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withCount
     ) {
-        log.info("StyleController::getAllStyles - Execution started");
-        PageResponse<?> pageResponse = styleService.getAllStyle(page, size, sortBy);
-        log.info("StyleController::getAllStyles - Execution completed");
-        return ApiResponse.builder()
+        log.trace("StyleController::getAllStyles - Execution started");
+        // Any cursor parameter, even an empty one, switches to keyset paging
+        PageResponse<?> pageResponse = cursor != null
+                ? styleService.getStylesByCursor(cursor, size, sortBy)
+                : styleService.getAllStyle(page, size, sortBy, withCount);
+        log.trace("StyleController::getAllStyles - Execution completed");
+        ApiResponse<?> body = ApiResponse.builder()
                 .code(200)
                 .message("Get all styles successfully.")
                 .data(pageResponse)
                 .timestamp(Instant.now())
                 .build();
+        return httpCaching.ok("stylePages", body, pageResponse);
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<?> getStyleById(@PathVariable Integer id) {
-        log.info("StyleController::getStyleById - Execution started. [id: {}]", id);
+    public ResponseEntity<ApiResponse<?>> getStyleById(@PathVariable Integer id) {
+        log.trace("StyleController::getStyleById - Execution started. [id: {}]", id);
         StyleResponse response = styleService.getStyleById(id);
-        log.info("StyleController::getStyleById - Execution completed. [id: {}]", id);
-        return ApiResponse.builder()
+        log.trace("StyleController::getStyleById - Execution completed. [id: {}]", id);
+        ApiResponse<?> body = ApiResponse.builder()
                 .code(200)
                 .message("Get style by ID successfully.")
                 .data(response)
                 .timestamp(Instant.now())
                 .build();
+        return httpCaching.ok("styles", body, response);
     }
 
     @PostMapping
     public ApiResponse<?> createStyle(@RequestBody StyleRequest styleRequest) {
-        log.info("StyleController::createStyle - Execution started.");
+        log.trace("StyleController::createStyle - Execution started.");
         StyleResponse response = styleService.createStyle(styleRequest);
-        log.info("StyleController::createStyle - Execution completed.");
+        log.trace("StyleController::createStyle - Execution completed.");
         return ApiResponse.builder()
                 .code(201)
                 .message("Style created successfully.")
@@ -62,11 +74,24 @@ public class StyleController {
                 .build();
     }
 
+    @PostMapping("/bulk")
+    public ApiResponse<?> upsertStyles(@RequestBody List<StyleRequest> requests) {
+        log.trace("StyleController::upsertStyles - Execution started. [items: {}]", requests.size());
+        BulkUpsertResponse response = styleService.upsertStyles(requests);
+        log.trace("StyleController::upsertStyles - Execution completed.");
+        return ApiResponse.builder()
+                .code(200)
+                .message("Styles upserted successfully.")
+                .data(response)
+                .timestamp(Instant.now())
+                .build();
+    }
+
     @PutMapping("/{id}")
     public ApiResponse<?> updateStyle(@PathVariable Integer id, @RequestBody StyleRequest styleRequest) {
-        log.info("StyleController::updateStyle - Execution started. [id: {}]", id);
+        log.trace("StyleController::updateStyle - Execution started. [id: {}]", id);
         StyleResponse response = styleService.updateStyleById(styleRequest, id);
-        log.info("StyleController::updateStyle - Execution completed. [id: {}]", id);
+        log.trace("StyleController::updateStyle - Execution completed. [id: {}]", id);
         return ApiResponse.builder()
                 .code(200)
                 .message("Style updated successfully.")
@@ -77,9 +102,9 @@ public class StyleController {
 
     @DeleteMapping("/{id}")
     public ApiResponse<?> deleteStyle(@PathVariable Integer id) {
-        log.info("StyleController::deleteStyle - Execution started. [id: {}]", id);
+        log.trace("StyleController::deleteStyle - Execution started. [id: {}]", id);
         styleService.deleteStyle(id);
-        log.info("StyleController::deleteStyle - Execution completed. [id: {}]", id);
+        log.trace("StyleController::deleteStyle - Execution completed. [id: {}]", id);
         return ApiResponse.builder()
                 .code(200)
                 .message("Style deleted successfully.")
@@ -0,0 +1,13 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CartItemRequest {
+    // 0 removes the line
+    @NotNull(message = "Quantity cannot be null")
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private Integer quantity;
+}
@@ -0,0 +1,27 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+// One variant per row. Rows sharing a productName belong to the same product; dimensions are given by name.
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CatalogImportRow {
+    private String productName;
+    private String description;
+    private String category;
+    private String brand;
+    private String material;
+    private String style;
+    private String sku;
+    private String size;
+    private String color;
+    private BigDecimal price;
+    private BigDecimal costPrice;
+    private BigDecimal salePrice;
+    private Integer quantity;
+    private String status;
+}
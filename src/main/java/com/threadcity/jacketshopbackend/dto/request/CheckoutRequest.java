@@ -0,0 +1,38 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CheckoutRequest {
+    @NotNull(message = "Cart id cannot be null")
+    private Long cartId;
+    @NotBlank(message = "Customer name cannot be blank")
+    @Size(max = 120)
+    private String customerName;
+    @Email
+    @Size(max = 255)
+    private String customerEmail;
+    @Size(max = 20)
+    private String customerPhone;
+    // A saved address of the signed-in user; otherwise the shipping fields below are used
+    private Long addressId;
+    @Size(max = 120)
+    private String shippingRecipientName;
+    @Size(max = 20)
+    private String shippingRecipientPhone;
+    @Size(max = 255)
+    private String shippingAddressLine;
+    private Integer shippingWardCode;
+    @NotNull(message = "Payment method cannot be null")
+    private Integer paymentMethodId;
+    @NotNull(message = "Shipping method cannot be null")
+    private Integer shippingMethodId;
+    @Size(max = 50)
+    private String couponCode;
+    @Size(max = 500)
+    private String note;
+}
@@ -0,0 +1,11 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class OrderStatusRequest {
+    @NotNull(message = "Status cannot be null")
+    private OrderStatus status;
+}
@@ -0,0 +1,16 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PaymentStatusRequest {
+    @NotNull(message = "Status cannot be null")
+    private PaymentStatus status;
+    @Size(max = 255)
+    private String transactionId;
+    @Size(max = 500)
+    private String failureReason;
+}
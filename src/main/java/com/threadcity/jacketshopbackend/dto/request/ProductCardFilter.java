@@ -0,0 +1,21 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import lombok.Data;
+
+// Bound from storefront query parameters, so it must not carry anything that widens visibility
+@Data
+public class ProductCardFilter {
+    private Long categoryId;
+    private Long brandId;
+    private Integer materialId;
+    private Integer styleId;
+    // A product matches when it has any of the requested sizes (or colors)
+    private Set<Integer> sizeIds;
+    private Set<Integer> colorIds;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private boolean inStock;
+}
@@ -0,0 +1,19 @@
+package com.threadcity.jacketshopbackend.dto.request;
+
+import java.util.Set;
+
+import lombok.Data;
+
+@Data
+public class ProductSearchRequest {
+    private String q;
+    private Long categoryId;
+    private Long brandId;
+    private Integer materialId;
+    private Integer styleId;
+    private Set<Integer> sizeIds;
+    private Set<Integer> colorIds;
+    // Treat the last word as a prefix, for search-as-you-type
+    private boolean prefix = true;
+    private int limit = 20;
+}
@@ -9,7 +9,7 @@ import java.time.Instant;
 
 @Data
 @Builder
-public class BrandResponse implements Serializable {
+public class BrandResponse implements Serializable, Versioned {
     private Long id;
     private String name;
     private String logoUrl;
@@ -0,0 +1,42 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import com.threadcity.jacketshopbackend.common.Enums;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkUpsertResponse implements Serializable {
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    // Same order as the request list
+    private List<Item> items;
+
+    @Data
+    @AllArgsConstructor
+    public static class Item implements Serializable {
+        private int index;
+        private String name;
+        private Long id;
+        private Enums.UpsertOutcome outcome;
+        private String message;
+    }
+
+    public static BulkUpsertResponse of(List<Item> items) {
+        int[] counts = new int[Enums.UpsertOutcome.values().length];
+        items.forEach(item -> counts[item.getOutcome().ordinal()]++);
+        return BulkUpsertResponse.builder()
+                .created(counts[Enums.UpsertOutcome.CREATED.ordinal()])
+                .updated(counts[Enums.UpsertOutcome.UPDATED.ordinal()])
+                .unchanged(counts[Enums.UpsertOutcome.UNCHANGED.ordinal()])
+                .failed(counts[Enums.UpsertOutcome.FAILED.ordinal()])
+                .items(items)
+                .build();
+    }
+}
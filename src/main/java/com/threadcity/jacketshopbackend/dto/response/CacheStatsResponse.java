@@ -0,0 +1,19 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import java.io.Serializable;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsResponse implements Serializable {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadCount;
+    private double averageLoadMillis;
+}
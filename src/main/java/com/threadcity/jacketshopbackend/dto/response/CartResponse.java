@@ -0,0 +1,29 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class CartResponse implements Serializable {
+    private Long id;
+    private Long userId;
+    // Only returned when a guest cart is created
+    private String guestToken;
+    private List<Item> items;
+    private int totalQuantity;
+    // Bumped on every change, lets clients drop stale responses
+    private long version;
+    private Instant updatedAt;
+
+    @Data
+    @Builder
+    public static class Item implements Serializable {
+        private Long variantId;
+        private int quantity;
+    }
+}
@@ -0,0 +1,31 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// One variant per row, with the same column names the catalog import accepts
+@JsonPropertyOrder({ "productId", "productName", "description", "category", "brand", "material", "style",
+        "variantId", "sku", "size", "color", "price", "costPrice", "salePrice", "quantity", "status",
+        "productStatus", "updatedAt" })
+public record CatalogExportRow(
+        long productId,
+        String productName,
+        String description,
+        String category,
+        String brand,
+        String material,
+        String style,
+        long variantId,
+        String sku,
+        String size,
+        String color,
+        BigDecimal price,
+        BigDecimal costPrice,
+        BigDecimal salePrice,
+        int quantity,
+        String status,
+        String productStatus,
+        Instant updatedAt) {
+}
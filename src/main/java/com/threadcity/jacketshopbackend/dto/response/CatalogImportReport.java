@@ -0,0 +1,29 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class CatalogImportReport implements Serializable {
+    private long rowsRead;
+    private long productsCreated;
+    private long variantsCreated;
+    private long rowsFailed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RowError> errors;
+    // Only the first catalog.import.max-reported-errors errors are listed
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError implements Serializable {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import com.threadcity.jacketshopbackend.common.Enums;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class CheckoutResponse implements Serializable {
+    private Long orderId;
+    private String orderCode;
+    private Enums.OrderStatus status;
+    private BigDecimal subtotal;
+    private BigDecimal shippingFee;
+    private BigDecimal discount;
+    private BigDecimal total;
+    // True when this is the stored result of an earlier request with the same idempotency key
+    private boolean replayed;
+    private Instant createdAt;
+}
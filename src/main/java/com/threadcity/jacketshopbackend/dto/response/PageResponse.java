@@ -2,6 +2,8 @@ package com.threadcity.jacketshopbackend.dto.response;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,9 +21,18 @@ public class PageResponse<T> implements Serializable {
 
     private int size;
 
-    private int totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
 
-    private long totalElements;
+    // Set in cursor mode, null on the last page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     private T contents;
 }
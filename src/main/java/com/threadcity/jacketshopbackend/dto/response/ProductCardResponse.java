@@ -0,0 +1,29 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import com.threadcity.jacketshopbackend.common.Enums;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+@Data
+@Builder
+public class ProductCardResponse implements Serializable {
+    private Long id;
+    private String name;
+    private Long categoryId;
+    private Long brandId;
+    private Integer materialId;
+    private Integer styleId;
+    private Enums.Status status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer totalStock;
+    private Set<Integer> sizeIds;
+    private Set<Integer> colorIds;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
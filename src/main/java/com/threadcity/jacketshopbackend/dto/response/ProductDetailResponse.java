@@ -0,0 +1,30 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import com.threadcity.jacketshopbackend.common.Enums;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class ProductDetailResponse implements Serializable {
+    private Long id;
+    private String name;
+    private String description;
+    private String imagesJson;
+    private Enums.Status status;
+    private Long categoryId;
+    private String categoryName;
+    private Long brandId;
+    private String brandName;
+    private Integer materialId;
+    private String materialName;
+    private Integer styleId;
+    private String styleName;
+    private List<ProductVariantResponse> variants;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Map;
+
+// Product counts per dimension id. Each dimension ignores its own filter so sibling values stay selectable.
+@Data
+@Builder
+public class ProductFacetResponse implements Serializable {
+    private Map<Long, Long> categories;
+    private Map<Long, Long> brands;
+    private Map<Long, Long> materials;
+    private Map<Long, Long> styles;
+    private Map<Long, Long> sizes;
+    private Map<Long, Long> colors;
+}
@@ -0,0 +1,23 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class ProductSearchResponse implements Serializable {
+    private int total;
+    private List<Hit> hits;
+    // Counted over the matching products, filters included
+    private ProductFacetResponse facets;
+
+    @Data
+    @Builder
+    public static class Hit implements Serializable {
+        private Long id;
+        private String name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import com.threadcity.jacketshopbackend.common.Enums;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class ProductVariantResponse implements Serializable {
+    private Long id;
+    private String sku;
+    private Integer sizeId;
+    private String sizeName;
+    private Integer colorId;
+    private String colorName;
+    private BigDecimal price;
+    private BigDecimal salePrice;
+    private Integer quantity;
+    private Enums.Status status;
+}
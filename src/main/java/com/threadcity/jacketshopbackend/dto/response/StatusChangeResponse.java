@@ -0,0 +1,16 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Data
+@Builder
+public class StatusChangeResponse implements Serializable {
+    private Long id;
+    private String from;
+    private String to;
+    private Instant changedAt;
+}
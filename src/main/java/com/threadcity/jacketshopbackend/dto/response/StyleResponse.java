@@ -9,7 +9,7 @@ import java.time.Instant;
 
 @Data
 @Builder
-public class StyleResponse implements Serializable {
+public class StyleResponse implements Serializable, Versioned {
     private Integer id;
     private String name; // bomber, biker, hoodie, blazer, etc.
     private String description;
@@ -0,0 +1,11 @@
+package com.threadcity.jacketshopbackend.dto.response;
+
+import java.time.Instant;
+
+// A response whose id and updatedAt identify its version, so ETags need not look at the rest of the body
+public interface Versioned {
+
+    Number getId();
+
+    Instant getUpdatedAt();
+}
@@ -48,6 +48,10 @@ public class Cart {
     @JoinColumn(name = "user_id")
     private User user; // nullable for guest
 
+    // Random secret handed to guest clients, required to read or edit a cart without a user
+    @Column(name = "guest_token", length = 32)
+    private String guestToken;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -0,0 +1,56 @@
+package com.threadcity.jacketshopbackend.entity;
+
+import java.time.Instant;
+
+import com.threadcity.jacketshopbackend.common.Enums.IdempotencyStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Client-supplied key of a checkout attempt; rows are inserted with plain JDBC so a duplicate fails fast
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "ix_idempotency_keys_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+
+    // SHA-256 of the request body, a retry must send the same request
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -23,6 +23,7 @@ import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.persistence.JoinColumn;
@@ -43,7 +44,8 @@ import lombok.Setter;
 public class OrderDetail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_details_seq")
+    @SequenceGenerator(name = "order_details_seq", sequenceName = "order_details_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -74,6 +76,6 @@ public class OrderDetail {
 
     @Transient
     public BigDecimal getSubtotal() {
-        return price.multiply(new BigDecimal(quantity));
+        return price.multiply(BigDecimal.valueOf(quantity));
     }
 }
@@ -0,0 +1,39 @@
+package com.threadcity.jacketshopbackend.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One row per outbox event a handler has applied, so redelivery cannot apply it twice
+@Entity
+@Table(name = "outbox_consumptions", indexes = {
+        @Index(name = "ix_outbox_consumptions_consumed", columnList = "consumed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxConsumption {
+
+    // "<event id>:<handler name>"
+    @Id
+    @Column(name = "consumption_key", length = 150)
+    private String key;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "consumed_at", nullable = false)
+    private Instant consumedAt;
+}
@@ -0,0 +1,108 @@
+package com.threadcity.jacketshopbackend.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.annotations.BatchSize;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/*
+ * Denormalized storefront row, one per product, rebuilt by ProductCardService from products and
+ * product_variants after every committed catalog change. Never written from anywhere else.
+ */
+@Entity
+@Table(name = "product_cards", indexes = {
+        @Index(name = "ix_product_cards_status_created", columnList = "status, created_at"),
+        @Index(name = "ix_product_cards_status_price", columnList = "status, min_price, max_price"),
+        @Index(name = "ix_product_cards_category", columnList = "category_id, status, min_price"),
+        @Index(name = "ix_product_cards_brand", columnList = "brand_id, status, min_price"),
+        @Index(name = "ix_product_cards_material", columnList = "material_id, status, min_price"),
+        @Index(name = "ix_product_cards_style", columnList = "style_id, status, min_price")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCard {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "brand_id")
+    private Long brandId;
+
+    @Column(name = "material_id")
+    private Integer materialId;
+
+    @Column(name = "style_id")
+    private Integer styleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Effective price is sale_price when set, price otherwise, over ACTIVE variants only
+    @Column(name = "min_price", precision = 12, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 12, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(name = "total_stock", nullable = false)
+    @Builder.Default
+    private Integer totalStock = 0;
+
+    // Sizes and colors of ACTIVE variants that are in stock
+    @ElementCollection
+    @CollectionTable(name = "product_card_sizes", joinColumns = @JoinColumn(name = "product_id"), indexes = {
+            @Index(name = "ix_product_card_sizes_size", columnList = "size_id, product_id")
+    })
+    @Column(name = "size_id", nullable = false)
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<Integer> sizeIds = new HashSet<>();
+
+    @ElementCollection
+    @CollectionTable(name = "product_card_colors", joinColumns = @JoinColumn(name = "product_id"), indexes = {
+            @Index(name = "ix_product_card_colors_color", columnList = "color_id, product_id")
+    })
+    @Column(name = "color_id", nullable = false)
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<Integer> colorIds = new HashSet<>();
+
+    // Copied from the product, not the time the card was refreshed
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
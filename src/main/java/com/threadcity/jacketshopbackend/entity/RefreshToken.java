@@ -6,9 +6,11 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import com.threadcity.jacketshopbackend.common.Enums.RefreshTokenStatus;
+import com.threadcity.jacketshopbackend.event.RefreshTokenEntityListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -17,6 +19,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,6 +29,7 @@ import lombok.NonNull;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(RefreshTokenEntityListener.class)
 @Table(name = "auth_refresh_tokens")
 @Getter
 @Setter
@@ -35,7 +39,8 @@ import lombok.Setter;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_refresh_tokens_seq")
+    @SequenceGenerator(name = "auth_refresh_tokens_seq", sequenceName = "auth_refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
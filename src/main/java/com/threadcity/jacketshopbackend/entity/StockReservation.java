@@ -0,0 +1,67 @@
+package com.threadcity.jacketshopbackend.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import com.threadcity.jacketshopbackend.common.Enums.ReservationStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "ix_stock_reservations_status_expires", columnList = "status, expires_at"),
+        @Index(name = "ix_stock_reservations_cart_status", columnList = "cart_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids, reservations are written and swept in bulk without loading the variant or cart
+    @Column(name = "product_variant_id", nullable = false)
+    private Long productVariantId;
+
+    @Column(name = "cart_id")
+    private Long cartId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.threadcity.jacketshopbackend.event;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/*
+ * Coalesces CatalogChangedEvents between two refreshes of a read model, so a variant that sells a
+ * hundred times a second costs one refresh per interval instead of one per sale. The ids of a refresh
+ * that failed go back into the buffer and are retried after an exponential backoff.
+ */
+public final class CatalogChangeBuffer {
+    private static final long INITIAL_BACKOFF_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long MAX_BACKOFF_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private Set<Long> productIds = new HashSet<>();
+    private Set<Long> variantIds = new HashSet<>();
+    private int failures;
+    private long retryAt;
+
+    public synchronized void add(CatalogChangedEvent event) {
+        productIds.addAll(event.productIds());
+        variantIds.addAll(event.variantIds());
+    }
+
+    public synchronized boolean isEmpty() {
+        return productIds.isEmpty() && variantIds.isEmpty();
+    }
+
+    // Hands everything buffered so far to refresh; does nothing while empty or backing off
+    public void drain(Consumer<CatalogChangedEvent> refresh) {
+        CatalogChangedEvent batch;
+        synchronized (this) {
+            if (isEmpty() || failures > 0 && System.nanoTime() - retryAt < 0) {
+                return;
+            }
+            batch = new CatalogChangedEvent(productIds, variantIds);
+            productIds = new HashSet<>();
+            variantIds = new HashSet<>();
+        }
+        try {
+            refresh.accept(batch);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                productIds.addAll(batch.productIds());
+                variantIds.addAll(batch.variantIds());
+                failures++;
+                retryAt = System.nanoTime() + Math.min(INITIAL_BACKOFF_NANOS << Math.min(failures - 1, 20),
+                        MAX_BACKOFF_NANOS);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            failures = 0;
+        }
+    }
+}
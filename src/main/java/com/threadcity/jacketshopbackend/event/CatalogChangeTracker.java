@@ -0,0 +1,73 @@
+package com.threadcity.jacketshopbackend.event;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Collects product and variant ids changed in the current transaction and publishes a single
+ * CatalogChangedEvent once it has committed, so saving a product with 30 variants refreshes its read
+ * models once. Not before commit: Hibernate flushes dirty entities inside the commit itself, and the
+ * entity listeners report those changes after every beforeCommit callback has run. Bulk SQL updates
+ * bypass the entity listeners and have to report their variant ids here themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeTracker {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void productChanged(Long productId) {
+        if (productId != null) {
+            record(Set.of(productId), Set.of());
+        }
+    }
+
+    public void productsChanged(Collection<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            record(productIds, Set.of());
+        }
+    }
+
+    public void variantsChanged(Collection<Long> variantIds) {
+        if (!variantIds.isEmpty()) {
+            record(Set.of(), variantIds);
+        }
+    }
+
+    private void record(Collection<Long> productIds, Collection<Long> variantIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(Set.copyOf(productIds), Set.copyOf(variantIds)));
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.productIds.addAll(productIds);
+        pending.variantIds.addAll(variantIds);
+    }
+
+    private final class Pending implements TransactionSynchronization {
+        private final Set<Long> productIds = new HashSet<>();
+        private final Set<Long> variantIds = new HashSet<>();
+
+        // Synchronization is already cleared here, so listeners run right away on this thread
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CatalogChangeTracker.this);
+            if (status == STATUS_COMMITTED) {
+                eventPublisher.publishEvent(new CatalogChangedEvent(Set.copyOf(productIds), Set.copyOf(variantIds)));
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.threadcity.jacketshopbackend.event;
+
+import java.util.Set;
+
+// Published once per committed transaction that touched products or variants
+public record CatalogChangedEvent(Set<Long> productIds, Set<Long> variantIds) {
+}
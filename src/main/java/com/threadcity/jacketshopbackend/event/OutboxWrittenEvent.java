@@ -0,0 +1,5 @@
+package com.threadcity.jacketshopbackend.event;
+
+// Published after a transaction that wrote outbox events commits, wakes the relay early
+public record OutboxWrittenEvent(int count) {
+}
@@ -0,0 +1,24 @@
+package com.threadcity.jacketshopbackend.event;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.entity.Product;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ProductEntityListener {
+
+    private final CatalogChangeTracker catalogChangeTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Product product) {
+        catalogChangeTracker.productChanged(product.getId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.threadcity.jacketshopbackend.event;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ProductVariantEntityListener {
+
+    private final CatalogChangeTracker catalogChangeTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(ProductVariant variant) {
+        // getId() on the lazy product proxy does not initialize it
+        catalogChangeTracker.productChanged(variant.getProduct() == null ? null : variant.getProduct().getId());
+    }
+}
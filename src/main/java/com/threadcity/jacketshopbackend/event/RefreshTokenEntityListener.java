@@ -0,0 +1,27 @@
+package com.threadcity.jacketshopbackend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.common.Enums.RefreshTokenStatus;
+import com.threadcity.jacketshopbackend.entity.RefreshToken;
+
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void afterUpdate(RefreshToken token) {
+        if (token.getStatus() != RefreshTokenStatus.REVOKED) {
+            return;
+        }
+        // getId() on the lazy user proxy does not initialize it
+        Long userId = token.getUser() == null ? null : token.getUser().getId();
+        eventPublisher.publishEvent(new RefreshTokenRevokedEvent(userId, token.getJti(), token.getExpiresAt()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.threadcity.jacketshopbackend.event;
+
+import java.time.Instant;
+
+public record RefreshTokenRevokedEvent(Long userId, String jti, Instant expiresAt) {
+}
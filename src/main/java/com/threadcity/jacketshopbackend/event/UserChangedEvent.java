@@ -0,0 +1,10 @@
+package com.threadcity.jacketshopbackend.event;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+
+public record UserChangedEvent(Long userId, String username, Status status, boolean deleted) {
+
+    public boolean isActive() {
+        return !deleted && status == Status.ACTIVE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.threadcity.jacketshopbackend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.entity.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void afterUpdate(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getStatus(), false));
+    }
+
+    @PostRemove
+    public void afterRemove(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getStatus(), true));
+    }
+}
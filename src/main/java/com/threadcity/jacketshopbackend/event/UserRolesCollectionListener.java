@@ -0,0 +1,59 @@
+package com.threadcity.jacketshopbackend.event;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.entity.User;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * User has no version column, so changing only user_roles does not trigger @PostUpdate.
+ * Collection events are the only place Hibernate reports those changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRolesCollectionListener
+        implements PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+
+    private static final String ROLES_ROLE = User.class.getName() + ".roles";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publishIfRoles(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        publishIfRoles(event);
+    }
+
+    private void publishIfRoles(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof User user
+                && ROLES_ROLE.equals(event.getCollection().getRole())) {
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getStatus(), false));
+        }
+    }
+}
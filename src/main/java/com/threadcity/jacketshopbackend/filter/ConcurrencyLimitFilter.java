@@ -0,0 +1,79 @@
+package com.threadcity.jacketshopbackend.filter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * With virtual threads Tomcat no longer caps in-flight requests at its worker pool size, so every
+ * request would queue on HikariCP and fail after connection-timeout. This bounds concurrent requests
+ * instead; waiting on a Semaphore unmounts the virtual thread rather than pinning it.
+ *
+ * The limit bounds requests, not connections: requests that need no connection count too, and the
+ * ones that do still wait in Hikari's queue once the pool is busy. Unless max-in-flight is set it is
+ * pool-multiple times the pool size, so at most (pool-multiple - 1) x pool size requests can be
+ * waiting there, each for a connection to come back rather than for connection-timeout.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(
+            @Value("${web.concurrency.max-in-flight:0}") int maxInFlight,
+            @Value("${web.concurrency.pool-multiple:2}") int poolMultiple,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${web.concurrency.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        int limit = maxInFlight > 0 ? maxInFlight : Math.max(1, poolMultiple * poolSize);
+        this.permits = new Semaphore(limit);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        log.info("ConcurrencyLimitFilter::init - Allowing {} requests in flight. [poolSize: {}]", limit, poolSize);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        if (!acquired) {
+            log.warn("ConcurrencyLimitFilter::doFilterInternal - Request rejected, concurrency limit reached. [uri: {}]",
+                    request.getRequestURI());
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.threadcity.jacketshopbackend.filter;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,12 +11,18 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.threadcity.jacketshopbackend.common.Enums.AuthenticationMode;
+import com.threadcity.jacketshopbackend.mapper.UserMapper;
 import com.threadcity.jacketshopbackend.service.auth.JwtService;
+import com.threadcity.jacketshopbackend.service.auth.TokenRevocationService;
 import com.threadcity.jacketshopbackend.service.auth.UserDetailsServiceImpl;
+import com.threadcity.jacketshopbackend.service.auth.VerifiedToken;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +37,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserMapper userMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.authentication-mode:DATABASE}")
+    private AuthenticationMode authenticationMode;
 
     @Override
     protected void doFilterInternal(
@@ -44,10 +57,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         try {
-            final String username = jwtService.extractUsername(token);
+            final VerifiedToken verifiedToken = verify(token);
+            final String username = verifiedToken.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(token, userDetails)) {
+                if (tokenRevocationService.isRevoked(verifiedToken)) {
+                    log.warn("Revoked token used by user: {}", username);
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
+                            "Token has been revoked");
+                    return;
+                }
+                UserDetails userDetails = loadUserDetails(verifiedToken);
+                if (userDetails != null && jwtService.isTokenValid(verifiedToken, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -93,6 +113,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Signature and claim parsing only, the user lookup is timed separately
+    private VerifiedToken verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            VerifiedToken verifiedToken = jwtService.verify(token);
+            outcome = "valid";
+            return verifiedToken;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.jwt.verification", "outcome", outcome));
+        }
+    }
+
+    private UserDetails loadUserDetails(VerifiedToken verifiedToken) {
+        if (authenticationMode == AuthenticationMode.CLAIMS) {
+            // Only access tokens carry roles and uid
+            return verifiedToken.isAccessToken() ? userMapper.toUserDetailsImpl(verifiedToken) : null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return userDetailsService.loadUserByUsername(verifiedToken.getSubject());
+        } finally {
+            sample.stop(meterRegistry.timer("auth.user.lookup", "mode", authenticationMode.name()));
+        }
+    }
+
     private String extractTokenFromRequset(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
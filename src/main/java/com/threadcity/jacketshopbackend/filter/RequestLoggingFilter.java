@@ -0,0 +1,117 @@
+package com.threadcity.jacketshopbackend.filter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Assigns each request a correlation id (taken from X-Request-Id when the caller sends a sane one)
+ * and writes a single access event per request with its status and duration.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("http.access");
+    private static final int MAX_INCOMING_ID_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long startNanos = System.nanoTime();
+        String correlationId = correlationIdOf(request);
+        MDC.put(CORRELATION_ID, correlationId);
+        response.setHeader(REQUEST_ID_HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses finish on another thread, log when they actually complete
+                request.getAsyncContext().addListener(new AccessLogListener(correlationId, startNanos));
+            } else {
+                logAccess(request, response, startNanos);
+            }
+            MDC.remove(CORRELATION_ID);
+        }
+    }
+
+    private static void logAccess(HttpServletRequest request, HttpServletResponse response, long startNanos) {
+        if (!accessLog.isInfoEnabled()) {
+            return;
+        }
+        accessLog.info("method={} path={} status={} durationMs={} remote={}",
+                request.getMethod(),
+                request.getRequestURI(),
+                response.getStatus(),
+                (System.nanoTime() - startNanos) / 1_000_000,
+                request.getRemoteAddr());
+    }
+
+    private static String correlationIdOf(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && !incoming.isEmpty() && incoming.length() <= MAX_INCOMING_ID_LENGTH
+                && isSafe(incoming)) {
+            return incoming;
+        }
+        // Not a UUID on purpose: randomUUID goes through SecureRandom on every request
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+
+    // Keeps the id from injecting into log lines or response headers
+    private static boolean isSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record AccessLogListener(String correlationId, long startNanos) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put(CORRELATION_ID, correlationId);
+            try {
+                logAccess((HttpServletRequest) event.getSuppliedRequest(),
+                        (HttpServletResponse) event.getSuppliedResponse(), startNanos);
+            } finally {
+                MDC.remove(CORRELATION_ID);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.threadcity.jacketshopbackend.filter;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.threadcity.jacketshopbackend.common.SqlStatementRecorder;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Counts the SQL statements each request runs. When debug-headers is on (the dev profile) the counts
+ * go out as headers just before the response commits, and a request over the threshold, or one repeating a single statement, logs
+ * the statement it repeated most.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "sql.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Sql-Count";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Value("${sql.monitor.debug-headers:false}")
+    private boolean debugHeaders;
+
+    @Value("${sql.monitor.warn-threshold:25}")
+    private int warnThreshold;
+
+    @Value("${sql.monitor.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            HeaderWritingResponse wrapped = debugHeaders ? new HeaderWritingResponse(response, recording) : null;
+            filterChain.doFilter(request, wrapped != null ? wrapped : response);
+            // Small bodies are committed by the container after the filter chain returns
+            if (wrapped != null && !response.isCommitted()) {
+                wrapped.onResponseCommitted();
+            }
+            warnIfExcessive(request, recording);
+        }
+    }
+
+    private void warnIfExcessive(HttpServletRequest request, SqlStatementRecorder.Recording recording) {
+        Map.Entry<String, Integer> top = recording.mostRepeated();
+        if (top == null || (recording.getStatementCount() <= warnThreshold && top.getValue() < repeatThreshold)) {
+            return;
+        }
+        log.warn("SqlStatementFilter::warnIfExcessive - Excessive SQL statements. "
+                + "[uri: {} {}, statements: {}, elapsedMs: {}, repeated: {}x {}]",
+                request.getMethod(), request.getRequestURI(), recording.getStatementCount(),
+                recording.getElapsedMillis(), top.getValue(), top.getKey());
+    }
+
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementRecorder.Recording recording;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementRecorder.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(COUNT_HEADER, Integer.toString(recording.getStatementCount()));
+            setHeader(TIME_HEADER, Long.toString(recording.getElapsedMillis()));
+        }
+    }
+}
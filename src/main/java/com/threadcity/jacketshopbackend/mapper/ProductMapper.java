@@ -0,0 +1,43 @@
+package com.threadcity.jacketshopbackend.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.threadcity.jacketshopbackend.dto.response.ProductCardResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductDetailResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductVariantResponse;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+
+@Mapper(componentModel = "spring")
+public interface ProductMapper {
+
+    // variants come from a separate fetch, never from the lazy Product.variants collection
+    @Mapping(target = "id", source = "product.id")
+    @Mapping(target = "name", source = "product.name")
+    @Mapping(target = "status", source = "product.status")
+    @Mapping(target = "createdAt", source = "product.createdAt")
+    @Mapping(target = "updatedAt", source = "product.updatedAt")
+    @Mapping(target = "categoryId", source = "product.category.id")
+    @Mapping(target = "categoryName", source = "product.category.name")
+    @Mapping(target = "brandId", source = "product.brand.id")
+    @Mapping(target = "brandName", source = "product.brand.name")
+    @Mapping(target = "materialId", source = "product.material.id")
+    @Mapping(target = "materialName", source = "product.material.name")
+    @Mapping(target = "styleId", source = "product.style.id")
+    @Mapping(target = "styleName", source = "product.style.name")
+    @Mapping(target = "variants", source = "variants")
+    ProductDetailResponse toDetailDto(Product product, List<ProductVariant> variants);
+
+    @Mapping(target = "sizeId", source = "size.id")
+    @Mapping(target = "sizeName", source = "size.name")
+    @Mapping(target = "colorId", source = "color.id")
+    @Mapping(target = "colorName", source = "color.name")
+    ProductVariantResponse toVariantDto(ProductVariant variant);
+
+    @Mapping(target = "id", source = "productId")
+    ProductCardResponse toCardDto(ProductCard card);
+}
@@ -14,6 +14,7 @@ import com.threadcity.jacketshopbackend.common.Enums.Status;
 import com.threadcity.jacketshopbackend.entity.Role;
 import com.threadcity.jacketshopbackend.entity.User;
 import com.threadcity.jacketshopbackend.service.auth.UserDetailsImpl;
+import com.threadcity.jacketshopbackend.service.auth.VerifiedToken;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
@@ -22,6 +23,19 @@ public interface UserMapper {
     @Mapping(target = "authorities", source = "roles", qualifiedByName = "rolesToAuthorities")
     UserDetailsImpl toUserDetailsImpl(User user);
 
+    // Principal for CLAIMS mode, the token was issued to an active user and is checked for revocation separately
+    default UserDetailsImpl toUserDetailsImpl(VerifiedToken token) {
+        List<GrantedAuthority> authorities = token.getRoles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return UserDetailsImpl.builder()
+                .id(token.getUserId())
+                .username(token.getSubject())
+                .enabled(true)
+                .authorities(authorities)
+                .build();
+    }
+
     @Named("statusToEnabled")
     public static boolean statusToEnabled(Status status) {
         return status == Status.ACTIVE;
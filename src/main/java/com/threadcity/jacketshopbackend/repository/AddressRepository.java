@@ -0,0 +1,17 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.Address;
+
+@Repository
+public interface AddressRepository extends JpaRepository<Address, Long> {
+
+    @Query("select a from Address a join fetch a.ward join fetch a.province where a.id = :id")
+    Optional<Address> findWithWardById(@Param("id") Long id);
+}
@@ -0,0 +1,31 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.CartItem;
+
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+
+    @Query("select i from CartItem i where i.cart.id in :cartIds")
+    List<CartItem> findByCartIdIn(@Param("cartIds") Collection<Long> cartIds);
+
+    @Query("""
+            select i.productVariant.id as variantId, i.quantity as quantity
+            from CartItem i
+            where i.cart.id = :cartId
+            order by i.id""")
+    List<CartLine> findLinesByCartId(@Param("cartId") Long cartId);
+
+    interface CartLine {
+        Long getVariantId();
+
+        Integer getQuantity();
+    }
+}
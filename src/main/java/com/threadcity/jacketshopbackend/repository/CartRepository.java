@@ -0,0 +1,20 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.Cart;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    @Modifying
+    @Query("update Cart c set c.updatedAt = :now where c.id in :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+}
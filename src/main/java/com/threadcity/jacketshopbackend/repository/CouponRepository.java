@@ -0,0 +1,34 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+
+@Repository
+public interface CouponRepository extends JpaRepository<Coupon, Long> {
+
+    Optional<Coupon> findByCode(String code);
+
+    // The limit is checked and consumed by the same statement, returns 0 once the coupon is used up
+    @Modifying
+    @Query("""
+            update Coupon c set c.usedCount = c.usedCount + 1
+            where c.id = :id
+              and c.status = :status
+              and (c.usageLimit is null or c.usedCount < c.usageLimit)
+              and c.validFrom <= :now and c.validTo >= :now
+            """)
+    int redeem(@Param("id") Long id, @Param("status") Status status, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Coupon c set c.usedCount = c.usedCount - 1 where c.id = :id and c.usedCount > 0")
+    int release(@Param("id") Long id);
+}
@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.IdempotencyStatus;
+import com.threadcity.jacketshopbackend.entity.IdempotencyKey;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("""
+            update IdempotencyKey k set k.status = :status, k.orderId = :orderId, k.updatedAt = :now
+            where k.key = :key""")
+    int complete(@Param("key") String key, @Param("orderId") Long orderId,
+            @Param("status") IdempotencyStatus status, @Param("now") Instant now);
+
+    // Takes over an attempt whose owner died mid-checkout; only one caller can win
+    @Modifying
+    @Query("""
+            update IdempotencyKey k set k.updatedAt = :now
+            where k.key = :key and k.status = :status and k.updatedAt < :staleBefore""")
+    int claimStale(@Param("key") String key, @Param("status") IdempotencyStatus status,
+            @Param("staleBefore") Instant staleBefore, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    int purgeExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,38 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import com.threadcity.jacketshopbackend.entity.Order;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // Conditional on the current status so two concurrent transitions cannot both succeed
+    @Modifying
+    @Query("update Order o set o.status = :to, o.updatedAt = :now where o.id = :id and o.status = :from")
+    int transition(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to,
+            @Param("now") Instant now);
+
+    @Query("""
+            select d.productVariant.id as variantId, d.quantity as quantity
+            from OrderDetail d
+            where d.order.id = :orderId""")
+    List<OrderLine> findLinesByOrderId(@Param("orderId") Long orderId);
+
+    @Query("select o.coupon.id from Order o where o.id = :id")
+    Long findCouponIdById(@Param("id") Long id);
+
+    interface OrderLine {
+        Long getVariantId();
+
+        Integer getQuantity();
+    }
+}
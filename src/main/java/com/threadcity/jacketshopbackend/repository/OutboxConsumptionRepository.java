@@ -0,0 +1,19 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.OutboxConsumption;
+
+@Repository
+public interface OutboxConsumptionRepository extends JpaRepository<OutboxConsumption, String> {
+
+    @Modifying
+    @Query("delete from OutboxConsumption c where c.consumedAt < :before")
+    int purge(@Param("before") Instant before);
+}
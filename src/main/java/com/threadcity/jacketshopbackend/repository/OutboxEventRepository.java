@@ -0,0 +1,66 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.OutboxStatus;
+import com.threadcity.jacketshopbackend.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /*
+     * Due events, locked for the rest of the claiming transaction. READPAST skips rows another relay
+     * has locked instead of waiting on them, so relays on several nodes take disjoint batches.
+     * PROCESSING rows come back once their lease has run out, i.e. their relay died mid-delivery.
+     */
+    @Query(value = """
+            SELECT TOP (:limit) * FROM outbox_events WITH (UPDLOCK, READPAST, ROWLOCK)
+            WHERE status IN ('PENDING', 'PROCESSING') AND available_at <= :now
+            ORDER BY available_at, id""", nativeQuery = true)
+    List<OutboxEvent> lockDue(@Param("limit") int limit, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update OutboxEvent e set e.status = :status, e.availableAt = :leaseUntil, e.updatedAt = :now
+            where e.id in :ids""")
+    int claim(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+            @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    /*
+     * The outcome updates only touch rows still under the caller's lease: PROCESSING with the availableAt
+     * it claimed them with. Once the lease has run out and another relay has claimed the row, a late
+     * outcome from the first relay matches nothing instead of overwriting the new claim.
+     */
+    @Modifying
+    @Query("""
+            update OutboxEvent e set e.status = :status, e.attempts = e.attempts + 1, e.deliveredAt = :now,
+            e.lastError = null, e.updatedAt = :now
+            where e.id in :ids and e.status = :claimed and e.availableAt = :leaseUntil""")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+            @Param("claimed") OutboxStatus claimed, @Param("leaseUntil") Instant leaseUntil,
+            @Param("now") Instant now);
+
+    // PENDING with a later availableAt for a retry, FAILED once attempts are used up
+    @Modifying
+    @Query("""
+            update OutboxEvent e set e.status = :status, e.attempts = e.attempts + 1, e.availableAt = :availableAt,
+            e.lastError = :error, e.updatedAt = :now
+            where e.id = :id and e.status = :claimed and e.availableAt = :leaseUntil""")
+    int markFailed(@Param("id") Long id, @Param("status") OutboxStatus status,
+            @Param("claimed") OutboxStatus claimed, @Param("leaseUntil") Instant leaseUntil,
+            @Param("availableAt") Instant availableAt, @Param("error") String error, @Param("now") Instant now);
+
+    long countByStatusIn(Collection<OutboxStatus> statuses);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.deliveredAt < :before")
+    int purge(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,10 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.PaymentMethod;
+
+@Repository
+public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Integer> {
+}
@@ -0,0 +1,26 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+import com.threadcity.jacketshopbackend.entity.Payment;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    // Conditional on the current status so concurrent callbacks cannot both apply a transition
+    @Modifying
+    @Query("""
+            update Payment p set p.status = :to, p.transactionId = coalesce(:transactionId, p.transactionId),
+            p.failureReason = :failureReason, p.paidAt = :paidAt, p.updatedAt = :now
+            where p.id = :id and p.status = :from""")
+    int transition(@Param("id") Long id, @Param("from") PaymentStatus from, @Param("to") PaymentStatus to,
+            @Param("transactionId") String transactionId, @Param("failureReason") String failureReason,
+            @Param("paidAt") Instant paidAt, @Param("now") Instant now);
+}
@@ -0,0 +1,12 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+
+@Repository
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long>,
+        JpaSpecificationExecutor<ProductCard>, ProductCardRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+
+public interface ProductCardRepositoryCustom {
+
+    // GROUP BY count of matching cards, attribute may be a basic column or an element collection
+    Map<Long, Long> countBy(String attribute, Specification<ProductCard> specification);
+}
@@ -0,0 +1,44 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class ProductCardRepositoryImpl implements ProductCardRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<Long, Long> countBy(String attribute, Specification<ProductCard> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductCard> root = query.from(ProductCard.class);
+        boolean collection = root.getModel().getAttribute(attribute).isCollection();
+        Expression<Number> key = collection ? root.join(attribute) : root.get(attribute);
+
+        Predicate filter = specification.toPredicate(root, query, cb);
+        Predicate present = cb.isNotNull(key);
+        query.multiselect(key, cb.count(root))
+                .where(filter == null ? present : cb.and(filter, present))
+                .groupBy(key);
+
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, Number.class).longValue(), row.get(1, Long.class));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,80 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.ProductCardFilter;
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public final class ProductCardSpecifications {
+
+    public enum Facet {
+        CATEGORY, BRAND, MATERIAL, STYLE, SIZE, COLOR
+    }
+
+    private ProductCardSpecifications() {
+    }
+
+    public static Specification<ProductCard> matching(Status status, ProductCardFilter filter) {
+        return matching(status, filter, null);
+    }
+
+    // Every filter except the one on the given facet, used when counting that facet
+    public static Specification<ProductCard> matching(Status status, ProductCardFilter filter, Facet except) {
+        Objects.requireNonNull(status, "status");
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("status"), status));
+            if (except != Facet.CATEGORY && filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("categoryId"), filter.getCategoryId()));
+            }
+            if (except != Facet.BRAND && filter.getBrandId() != null) {
+                predicates.add(cb.equal(root.get("brandId"), filter.getBrandId()));
+            }
+            if (except != Facet.MATERIAL && filter.getMaterialId() != null) {
+                predicates.add(cb.equal(root.get("materialId"), filter.getMaterialId()));
+            }
+            if (except != Facet.STYLE && filter.getStyleId() != null) {
+                predicates.add(cb.equal(root.get("styleId"), filter.getStyleId()));
+            }
+            if (except != Facet.SIZE && filter.getSizeIds() != null && !filter.getSizeIds().isEmpty()) {
+                predicates.add(containsAny(root, query, cb, "sizeIds", filter.getSizeIds()));
+            }
+            if (except != Facet.COLOR && filter.getColorIds() != null && !filter.getColorIds().isEmpty()) {
+                predicates.add(containsAny(root, query, cb, "colorIds", filter.getColorIds()));
+            }
+            // Price filters match when the product's price range overlaps the requested one
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("maxPrice"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("minPrice"), filter.getMaxPrice()));
+            }
+            if (filter.isInStock()) {
+                predicates.add(cb.greaterThan(root.get("totalStock"), 0));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // EXISTS instead of a join so a product with several matching sizes is still one row
+    private static Predicate containsAny(Root<ProductCard> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+            String attribute, Collection<Integer> ids) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<ProductCard> card = subquery.correlate(root);
+        var element = card.<ProductCard, Integer>join(attribute);
+        subquery.select(element).where(element.in(ids));
+        return cb.exists(subquery);
+    }
+}
@@ -0,0 +1,22 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Product;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @EntityGraph(attributePaths = { "category", "brand", "material", "style" })
+    Optional<Product> findDetailByIdAndStatus(Long id, Status status);
+
+    @Query("select p.id from Product p order by p.id")
+    List<Long> findAllIds();
+}
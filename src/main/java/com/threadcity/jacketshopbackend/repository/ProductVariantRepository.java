@@ -0,0 +1,84 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+
+@Repository
+public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
+
+    @EntityGraph(attributePaths = { "size", "color" })
+    List<ProductVariant> findByProductIdAndStatusOrderByIdAsc(Long productId, Status status);
+
+    // Checkout needs the product and dimension names for the order line snapshots
+    @Query("""
+            select v from ProductVariant v join fetch v.product left join fetch v.size left join fetch v.color
+            where v.id in :ids""")
+    List<ProductVariant> findWithProductByIdIn(@Param("ids") Collection<Long> ids);
+
+    boolean existsByIdAndStatus(Long id, Status status);
+
+    @Query("select v.id from ProductVariant v where v.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct v.product.id from ProductVariant v where v.id in :ids")
+    List<Long> findProductIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select v.product.id as productId,
+                   min(coalesce(v.salePrice, v.price)) as minPrice,
+                   max(coalesce(v.salePrice, v.price)) as maxPrice,
+                   sum(v.quantity) as totalStock
+            from ProductVariant v
+            where v.product.id in :productIds and v.status = :status
+            group by v.product.id""")
+    List<PriceStockSummary> summarizeByProductIds(@Param("productIds") Collection<Long> productIds,
+            @Param("status") Status status);
+
+    @Query("""
+            select distinct v.product.id as productId, s.id as sizeId, c.id as colorId
+            from ProductVariant v left join v.size s left join v.color c
+            where v.product.id in :productIds and v.status = :status and v.quantity > 0""")
+    List<AvailableDimensions> findAvailableDimensions(@Param("productIds") Collection<Long> productIds,
+            @Param("status") Status status);
+
+    // Single conditional UPDATE, returns 0 when there is not enough stock; updatedAt feeds incremental exports
+    @Modifying
+    @Query("""
+            update ProductVariant v set v.quantity = v.quantity - :quantity, v.updatedAt = :now
+            where v.id = :id and v.quantity >= :quantity""")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update ProductVariant v set v.quantity = v.quantity + :quantity, v.updatedAt = :now where v.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") Instant now);
+
+    interface PriceStockSummary {
+        Long getProductId();
+
+        BigDecimal getMinPrice();
+
+        BigDecimal getMaxPrice();
+
+        Long getTotalStock();
+    }
+
+    interface AvailableDimensions {
+        Long getProductId();
+
+        Integer getSizeId();
+
+        Integer getColorId();
+    }
+}
@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.common.Enums.ReservationStatus;
+import com.threadcity.jacketshopbackend.entity.StockReservation;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Written out rather than derived: derived queries share one cached criteria query behind a lock,
+    // which serializes concurrent checkouts
+    @Query("select r from StockReservation r where r.cartId = :cartId and r.status = :status")
+    List<StockReservation> findByCartIdAndStatus(@Param("cartId") Long cartId,
+            @Param("status") ReservationStatus status);
+
+    List<StockReservation> findByStatusAndExpiresAtBeforeOrderById(ReservationStatus status, Instant now, Limit limit);
+
+    // Status changes are conditional so release, consume and expiry can race safely
+    @Modifying
+    @Query("update StockReservation r set r.status = :to, r.updatedAt = :now where r.id in :ids and r.status = :from")
+    int transition(@Param("ids") Collection<Long> ids,
+            @Param("from") ReservationStatus from,
+            @Param("to") ReservationStatus to,
+            @Param("now") Instant now);
+}
@@ -1,10 +1,20 @@
 package com.threadcity.jacketshopbackend.repository;
 
 import com.threadcity.jacketshopbackend.entity.Style;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface StyleRepository extends JpaRepository<Style, Integer> {
     boolean existsByName(String name);
+
+    List<Style> findByNameIn(Collection<String> names);
+
+    // Reads size + 1 rows to detect a next page, no COUNT(*)
+    Slice<Style> findAllBy(Pageable pageable);
 }
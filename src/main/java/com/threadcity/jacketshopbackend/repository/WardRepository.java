@@ -0,0 +1,17 @@
+package com.threadcity.jacketshopbackend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.threadcity.jacketshopbackend.entity.Ward;
+
+@Repository
+public interface WardRepository extends JpaRepository<Ward, Integer> {
+
+    @Query("select w from Ward w join fetch w.province where w.code = :code")
+    Optional<Ward> findWithProvinceByCode(@Param("code") Integer code);
+}
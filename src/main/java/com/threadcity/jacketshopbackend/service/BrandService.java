@@ -1,6 +1,11 @@
 package com.threadcity.jacketshopbackend.service;
 
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.common.Enums.UpsertOutcome;
+import com.threadcity.jacketshopbackend.common.KeysetCursorCodec;
+import com.threadcity.jacketshopbackend.configuration.CacheConfig;
 import com.threadcity.jacketshopbackend.dto.request.BrandRequest;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse;
 import com.threadcity.jacketshopbackend.dto.response.PageResponse;
 import com.threadcity.jacketshopbackend.dto.response.BrandResponse;
 import com.threadcity.jacketshopbackend.entity.Brand;
@@ -11,13 +16,34 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -25,48 +51,105 @@ import java.util.List;
 public class BrandService {
     private final BrandRepository brandRepository;
     private final BrandMapper brandMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
 
+    private static final String INSERT_BRAND_SQL =
+            "INSERT INTO brands (name, logo_url, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_NAME_LENGTH = 120;
+    private static final int NAME_LOOKUP_CHUNK = 1000;
+
+    @Value("${catalog.bulk.max-items:5000}")
+    private int maxBulkItems;
+
+    private static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "createdAt", Instant.class,
+            "updatedAt", Instant.class);
+
+    @Cacheable(cacheNames = CacheConfig.BRANDS, key = "#Id", sync = true)
     public BrandResponse getBrandById(Long Id) {
-        log.info("BrandService::getBrandById - Execution started. [Id: {}]", Id);
+        log.trace("BrandService::getBrandById - Execution started. [Id: {}]", Id);
         Brand brand = brandRepository.findById(Id)
                 .orElseThrow(() -> new EntityNotFoundException("Brand not found with BrandId: " + Id));
-        log.info("BrandService::getBrandById - Execution completed. [BrandId: {}]", Id);
+        log.trace("BrandService::getBrandById - Execution completed. [BrandId: {}]", Id);
         return brandMapper.toDto(brand);
     }
 
-    public PageResponse<?> getAllBrand(int page, int size, String sortBy) {
-        log.info("BrandService::getAllBrand - Execution started.");
+    @Cacheable(cacheNames = CacheConfig.BRAND_PAGES, key = "#page + ':' + #size + ':' + #sortBy + ':' + #withCount", sync = true)
+    public PageResponse<?> getAllBrand(int page, int size, String sortBy, boolean withCount) {
+        log.trace("BrandService::getAllBrand - Execution started.");
         try {
             int p = Math.max(0, page);
             String[] sortParams = sortBy.split(",");
             Sort sortOrder = Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0]);
             Pageable pageable = PageRequest.of(p, size, sortOrder);
-            Page<Brand> brandPage = brandRepository.findAll(pageable);
-            List<BrandResponse> BrandList = brandPage.stream()
+            Slice<Brand> brandSlice = brandRepository.findAllBy(pageable);
+            List<BrandResponse> BrandList = brandSlice.stream()
                     .map(brandMapper::toDto)
                     .toList();
-            log.info("BrandService::getAllBrand - Execution completed.");
-            return PageResponse.builder()
+            PageResponse.PageResponseBuilder<Object> builder = PageResponse.builder()
                     .contents(BrandList)
                     .size(size)
                     .page(p)
-                    .totalPages(brandPage.getTotalPages())
-                    .totalElements(brandPage.getTotalElements()).build();
+                    .hasNext(brandSlice.hasNext());
+            if (withCount) {
+                // Only runs the (cached) count when the slice alone cannot tell the total
+                Page<Brand> brandPage = PageableExecutionUtils.getPage(brandSlice.getContent(), pageable,
+                        this::countBrands);
+                builder.totalPages(brandPage.getTotalPages())
+                        .totalElements(brandPage.getTotalElements());
+            }
+            log.trace("BrandService::getAllBrand - Execution completed.");
+            return builder.build();
         } catch (Exception e) {
             log.error("BrandService::getAllBrand - Execution failed.", e);
             throw new BusinessException("BrandService::getAllBrand - Execution failed.");
         }
     }
+
+    // Keyset paging, no OFFSET and no COUNT(*). An empty cursor starts from the first row.
+    @Cacheable(cacheNames = CacheConfig.BRAND_PAGES, key = "'cursor:' + #cursor + ':' + #size + ':' + #sortBy", sync = true)
+    public PageResponse<?> getBrandsByCursor(String cursor, int size, String sortBy) {
+        log.trace("BrandService::getBrandsByCursor - Execution started.");
+        KeysetCursorCodec.Position position = keysetCursorCodec.decode(cursor, sortBy, CURSOR_SORT_KEYS);
+        try {
+            Window<Brand> window = brandRepository.findBy(Example.of(new Brand()), query -> query
+                    .sortBy(position.sort())
+                    .limit(size)
+                    .scroll(position.scrollPosition()));
+            List<BrandResponse> BrandList = window.stream()
+                    .map(brandMapper::toDto)
+                    .toList();
+            log.trace("BrandService::getBrandsByCursor - Execution completed.");
+            return PageResponse.builder()
+                    .contents(BrandList)
+                    .size(size)
+                    .hasNext(window.hasNext())
+                    .nextCursor(keysetCursorCodec.nextCursor(window, position))
+                    .build();
+        } catch (Exception e) {
+            log.error("BrandService::getBrandsByCursor - Execution failed.", e);
+            throw new BusinessException("BrandService::getBrandsByCursor - Execution failed.");
+        }
+    }
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRAND_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_COUNTS, allEntries = true)
+    })
     public BrandResponse createBrand(BrandRequest brand) {
-        log.info("BrandService::createBrand - Execution started.");
+        log.trace("BrandService::createBrand - Execution started.");
         if (brandRepository.existsByName(brand.getName())) {
             throw new BusinessException("Brand already exists with name: " + brand.getName());
         }
         try {
             Brand brandEntity = brandMapper.toEntity(brand);
             Brand savedBrand = brandRepository.save(brandEntity);
-            log.info("BrandService::createBrand - Execution completed.");
+            log.trace("BrandService::createBrand - Execution completed.");
             return brandMapper.toDto(savedBrand);
         } catch (Exception e) {
             log.error("BrandService::createBrand - Execution failed.", e);
@@ -74,8 +157,12 @@ public class BrandService {
         }
     }
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_PAGES, allEntries = true)
+    })
     public BrandResponse updateBrandById(BrandRequest brandRequest, Long id) {
-        log.info("BrandService::updateBrandById - Execution started.");
+        log.trace("BrandService::updateBrandById - Execution started.");
         try {
             Brand brand = brandRepository.findById(id).orElseThrow(() ->
                     new EntityNotFoundException("Brand not found with BrandId: " + id));
@@ -83,7 +170,7 @@ public class BrandService {
             brand.setLogoUrl(brandRequest.getLogoUrl());
             brand.setStatus(brandRequest.getStatus());
             Brand savedBrand = brandRepository.save(brand);
-            log.info("BrandService::updateProfile - Execution completed. [BrandId: {}]", id);
+            log.trace("BrandService::updateProfile - Execution completed. [BrandId: {}]", id);
             return brandMapper.toDto(savedBrand);
         } catch (RuntimeException e) {
             log.error("BrandService::updateProfile - Execution failed.", e);
@@ -92,17 +179,126 @@ public class BrandService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_COUNTS, allEntries = true)
+    })
     public void deleteBrand(Long id) {
-        log.info("BrandService::deleteBrand - Execution started.");
+        log.trace("BrandService::deleteBrand - Execution started.");
         try {
             if (!brandRepository.existsById(id)) {
                 throw new EntityNotFoundException("Brand not found with BrandId: " + id);
             }
             brandRepository.deleteById(id);
-            log.info("BrandService::deleteBrand - Execution completed.");
+            log.trace("BrandService::deleteBrand - Execution completed.");
         } catch (Exception e) {
             log.error("BrandService::deleteBrand - Execution failed.", e);
             throw new BusinessException("BrandService::deleteBrand - Execution failed.");
         }
     }
+
+    // One set-based name lookup, inserts as a single JDBC batch and updates flushed as Hibernate batches,
+    // all in one transaction. Names are matched case-insensitively, like the database collation.
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANDS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_COUNTS, allEntries = true)
+    })
+    public BulkUpsertResponse upsertBrands(List<BrandRequest> requests) {
+        log.trace("BrandService::upsertBrands - Execution started. [items: {}]", requests.size());
+        if (requests.size() > maxBulkItems) {
+            throw new BusinessException("At most " + maxBulkItems + " brands can be upserted at once");
+        }
+        BulkUpsertResponse.Item[] items = new BulkUpsertResponse.Item[requests.size()];
+        Map<String, Integer> indexByKey = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BrandRequest request = requests.get(i);
+            String name = request == null || request.getName() == null ? null : request.getName().trim();
+            if (name == null || name.isEmpty()) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED, "Name cannot be null");
+            } else if (name.length() > MAX_NAME_LENGTH) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED,
+                        "Name is longer than " + MAX_NAME_LENGTH + " characters");
+            } else if (indexByKey.putIfAbsent(nameKey(name), i) != null) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED, "Duplicate name in request");
+            }
+        }
+
+        List<String> names = new ArrayList<>(indexByKey.size());
+        indexByKey.values().forEach(i -> names.add(requests.get(i).getName().trim()));
+        Map<String, Brand> existing = findByNames(names);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> inserts = new ArrayList<>();
+        indexByKey.forEach((key, i) -> {
+            BrandRequest request = requests.get(i);
+            String name = request.getName().trim();
+            Brand brand = existing.get(key);
+            if (brand == null) {
+                Status status = request.getStatus() == null ? Status.ACTIVE : request.getStatus();
+                inserts.add(new Object[] { name, request.getLogoUrl(), status.name(), now, now });
+                return;
+            }
+            Status status = request.getStatus() == null ? brand.getStatus() : request.getStatus();
+            if (name.equals(brand.getName()) && Objects.equals(request.getLogoUrl(), brand.getLogoUrl())
+                    && status == brand.getStatus()) {
+                items[i] = new BulkUpsertResponse.Item(i, name, brand.getId(), UpsertOutcome.UNCHANGED, null);
+                return;
+            }
+            // Dirty checking turns these into batched UPDATEs at flush
+            brand.setName(name);
+            brand.setLogoUrl(request.getLogoUrl());
+            brand.setStatus(status);
+            brand.setUpdatedAt(now.toInstant());
+            items[i] = new BulkUpsertResponse.Item(i, name, brand.getId(), UpsertOutcome.UPDATED, null);
+        });
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BRAND_SQL, inserts);
+            // IDENTITY keys of a batch are not returned, read them back by name
+            List<String> insertedNames = new ArrayList<>(inserts.size());
+            inserts.forEach(row -> insertedNames.add((String) row[0]));
+            Map<String, Brand> created = findByNames(insertedNames);
+            for (String name : insertedNames) {
+                int i = indexByKey.get(nameKey(name));
+                Brand brand = created.get(nameKey(name));
+                // Collation, trailing spaces or a concurrent rename can hide the new row from the lookup
+                items[i] = brand == null
+                        ? new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED,
+                                "Inserted, but its id could not be read back")
+                        : new BulkUpsertResponse.Item(i, brand.getName(), brand.getId(), UpsertOutcome.CREATED, null);
+            }
+        }
+        BulkUpsertResponse response = BulkUpsertResponse.of(Arrays.asList(items));
+        log.trace("BrandService::upsertBrands - Execution completed. [created: {}, updated: {}, failed: {}]",
+                response.getCreated(), response.getUpdated(), response.getFailed());
+        return response;
+    }
+
+    // Keyed by nameKey, whatever the case of the stored name
+    private Map<String, Brand> findByNames(List<String> names) {
+        Map<String, Brand> brands = new HashMap<>();
+        // Stays well below the SQL Server limit of 2100 parameters per statement
+        for (int i = 0; i < names.size(); i += NAME_LOOKUP_CHUNK) {
+            brandRepository.findByNameIn(names.subList(i, Math.min(names.size(), i + NAME_LOOKUP_CHUNK)))
+                    .forEach(brand -> brands.putIfAbsent(nameKey(brand.getName()), brand));
+        }
+        return brands;
+    }
+
+    // Short-lived, evicted on create and delete. Cached here rather than on BrandRepository.count() so
+    // other callers of count() still read the table.
+    private long countBrands() {
+        Cache cache = cacheManager.getCache(CacheConfig.BRAND_COUNTS);
+        if (cache == null) {
+            return brandRepository.count();
+        }
+        Long count = cache.get("all", brandRepository::count);
+        return count == null ? 0 : count;
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,51 @@
+package com.threadcity.jacketshopbackend.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.threadcity.jacketshopbackend.dto.response.CacheStatsResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatsService {
+    private final CacheManager cacheManager;
+
+    public List<CacheStatsResponse> getAllStats() {
+        log.trace("CacheStatsService::getAllStats - Execution started.");
+        List<CacheStatsResponse> stats = cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toStats)
+                .filter(Objects::nonNull)
+                .toList();
+        log.trace("CacheStatsService::getAllStats - Execution completed.");
+        return stats;
+    }
+
+    private CacheStatsResponse toStats(Cache cache) {
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return null;
+        }
+        CacheStats stats = nativeCache.stats();
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .size(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(stats.loadCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+}
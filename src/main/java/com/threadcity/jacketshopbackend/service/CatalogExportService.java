@@ -0,0 +1,131 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.threadcity.jacketshopbackend.dto.response.CatalogExportRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Writes the catalog straight from a forward-only JDBC cursor to the response stream, one variant
+ * at a time. Nothing goes through JPA, so there is no persistence context to grow.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogExportService {
+    private static final String EXPORT_SQL = """
+            SELECT p.id AS product_id, p.name AS product_name, p.description, c.name AS category,
+                   b.name AS brand, m.name AS material, st.name AS style, p.status AS product_status,
+                   v.id AS variant_id, v.sku, sz.name AS size, co.name AS color, v.price, v.cost_price,
+                   v.sale_price, v.quantity, v.status, v.updated_at
+            FROM product_variants v
+            JOIN products p ON p.id = v.product_id
+            JOIN categories c ON c.id = p.category_id
+            LEFT JOIN brands b ON b.id = p.brand_id
+            LEFT JOIN materials m ON m.id = p.material_id
+            LEFT JOIN styles st ON st.id = p.style_id
+            LEFT JOIN sizes sz ON sz.id = v.size_id
+            LEFT JOIN colors co ON co.id = v.color_id""";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // updatedSince limits the dump to variants changed since then, for incremental feeds
+    public void export(Format format, Instant updatedSince, OutputStream output) {
+        log.trace("CatalogExportService::export - Execution started. [format: {}]", format);
+        AtomicLong rows = new AtomicLong();
+        try (SequenceWriter writer = writer(format, output)) {
+            String sql = updatedSince == null
+                    ? EXPORT_SQL + " ORDER BY v.id"
+                    : EXPORT_SQL + " WHERE v.updated_at >= ? OR p.updated_at >= ? ORDER BY v.id";
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                if (updatedSince != null) {
+                    OffsetDateTime since = updatedSince.atOffset(ZoneOffset.UTC);
+                    ps.setObject(1, since);
+                    ps.setObject(2, since);
+                }
+                return ps;
+            }, rs -> {
+                write(writer, toRow(rs));
+                rows.incrementAndGet();
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // Usually the client went away, the cursor is already closed at this point
+            log.warn("CatalogExportService::export - Aborted after {} rows. [{}]", rows, e.getMessage());
+            return;
+        }
+        log.trace("CatalogExportService::export - Execution completed. [rows: {}]", rows);
+    }
+
+    private SequenceWriter writer(Format format, OutputStream output) throws IOException {
+        if (format == Format.CSV) {
+            CsvMapper csvMapper = new CsvMapper();
+            csvMapper.registerModule(new JavaTimeModule());
+            csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            return csvMapper.writer(csvMapper.schemaFor(CatalogExportRow.class).withHeader()).writeValues(output);
+        }
+        return objectMapper.writer()
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .withRootValueSeparator("\n")
+                .writeValues(output);
+    }
+
+    private static void write(SequenceWriter writer, CatalogExportRow row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CatalogExportRow toRow(ResultSet rs) throws SQLException {
+        OffsetDateTime updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+        return new CatalogExportRow(
+                rs.getLong("product_id"),
+                rs.getString("product_name"),
+                rs.getString("description"),
+                rs.getString("category"),
+                rs.getString("brand"),
+                rs.getString("material"),
+                rs.getString("style"),
+                rs.getLong("variant_id"),
+                rs.getString("sku"),
+                rs.getString("size"),
+                rs.getString("color"),
+                rs.getBigDecimal("price"),
+                rs.getBigDecimal("cost_price"),
+                rs.getBigDecimal("sale_price"),
+                rs.getInt("quantity"),
+                rs.getString("status"),
+                rs.getString("product_status"),
+                updatedAt == null ? null : updatedAt.toInstant());
+    }
+}
@@ -0,0 +1,368 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.CatalogImportRow;
+import com.threadcity.jacketshopbackend.dto.response.CatalogImportReport;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Rows are parsed one at a time and written in chunks, each chunk in its own transaction, so memory
+ * stays flat and a bad row only costs itself: rows that fail validation are reported and skipped, and
+ * a chunk the database rejects is written again row by row so only the offending rows fail. Variants go
+ * out as one JDBC batch per chunk; products are inserted one by one because their generated ids are
+ * needed for the variant rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportService {
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO products (name, description, category_id, "
+            + "brand_id, material_id, style_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_VARIANT_SQL = "INSERT INTO product_variants (product_id, sku, size_id, "
+            + "color_id, price, cost_price, sale_price, quantity, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeTracker catalogChangeTracker;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${catalog.import.max-reported-errors:500}")
+    private int maxReportedErrors;
+
+    // Header row required, column names match the CatalogImportRow properties
+    public CatalogImportReport importCsv(InputStream input) {
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+        return importRows(csvMapper.readerFor(CatalogImportRow.class).with(CsvSchema.emptySchema().withHeader()),
+                input);
+    }
+
+    // Accepts a top-level JSON array or newline-delimited JSON objects
+    public CatalogImportReport importJson(InputStream input) {
+        return importRows(objectMapper.readerFor(CatalogImportRow.class), input);
+    }
+
+    private CatalogImportReport importRows(ObjectReader reader, InputStream input) {
+        log.trace("CatalogImportService::importRows - Execution started.");
+        long started = System.nanoTime();
+        Progress progress = new Progress(maxReportedErrors);
+        Lookups lookups = loadLookups();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<CatalogImportRow> rows = reader.readValues(input)) {
+            while (true) {
+                long line = rows.getCurrentLocation().getLineNr();
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    line = rows.getCurrentLocation().getLineNr();
+                    chunk.add(new ParsedRow(line, rows.nextValue()));
+                } catch (JsonParseException e) {
+                    // Broken syntax, nothing after this point can be trusted
+                    progress.rowsRead++;
+                    progress.fail(line, "Malformed input: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonProcessingException e) {
+                    progress.rowsRead++;
+                    progress.fail(line, "Invalid value: " + e.getOriginalMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, lookups, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, lookups, progress);
+            }
+        } catch (IOException e) {
+            log.error("CatalogImportService::importRows - Execution failed.", e);
+            throw new BusinessException("CatalogImportService::importRows - Execution failed.");
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        CatalogImportReport report = CatalogImportReport.builder()
+                .rowsRead(progress.rowsRead)
+                .productsCreated(progress.productsCreated)
+                .variantsCreated(progress.variantsCreated)
+                .rowsFailed(progress.rowsFailed)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(elapsedMillis == 0 ? progress.rowsRead : progress.rowsRead * 1000.0 / elapsedMillis)
+                .errors(progress.errors)
+                .errorsTruncated(progress.rowsFailed > progress.errors.size())
+                .build();
+        log.trace("CatalogImportService::importRows - Execution completed. [rows: {}, failed: {}, rows/s: {}]",
+                report.getRowsRead(), report.getRowsFailed(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void importChunk(List<ParsedRow> chunk, Lookups lookups, Progress progress) {
+        progress.rowsRead += chunk.size();
+        Map<String, VariantRow> valid = new LinkedHashMap<>();
+        for (ParsedRow parsed : chunk) {
+            try {
+                VariantRow row = resolve(parsed, lookups);
+                if (valid.putIfAbsent(row.sku(), row) != null) {
+                    throw new IllegalArgumentException("Duplicate SKU in file: " + row.sku());
+                }
+            } catch (IllegalArgumentException e) {
+                progress.fail(parsed.line(), e.getMessage());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        // One query for the whole chunk instead of an exists check per row
+        namedParameterJdbcTemplate.queryForList("SELECT sku FROM product_variants WHERE sku IN (:skus)",
+                Map.of("skus", valid.keySet()), String.class)
+                .forEach(sku -> {
+                    VariantRow row = valid.remove(sku);
+                    if (row != null) {
+                        progress.fail(row.line(), "SKU already exists: " + sku);
+                    }
+                });
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<VariantRow> rows = new ArrayList<>(valid.values());
+        try {
+            write(rows, progress);
+        } catch (DataAccessException e) {
+            log.warn("CatalogImportService::importChunk - Chunk rolled back, retrying row by row. [rows: {}]",
+                    rows.size(), e);
+            for (VariantRow row : rows) {
+                try {
+                    write(List.of(row), progress);
+                } catch (DataAccessException rowError) {
+                    progress.fail(row.line(), "Rejected by the database: "
+                            + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void write(List<VariantRow> rows, Progress progress) {
+        int created = transactionTemplate.execute(status -> {
+            Map<String, Long> productIds = new HashMap<>();
+            int inserted = resolveProducts(rows, productIds);
+            insertVariants(rows, productIds);
+            catalogChangeTracker.productsChanged(productIds.values());
+            return inserted;
+        });
+        progress.productsCreated += created;
+        progress.variantsCreated += rows.size();
+    }
+
+    // Reuses products already in the database with the same name, inserts the rest. Returns the number inserted.
+    private int resolveProducts(List<VariantRow> rows, Map<String, Long> productIds) {
+        Map<String, VariantRow> firstRowByName = new LinkedHashMap<>();
+        rows.forEach(row -> firstRowByName.putIfAbsent(row.productName(), row));
+        namedParameterJdbcTemplate.query("SELECT id, name FROM products WHERE name IN (:names) ORDER BY id",
+                Map.of("names", firstRowByName.keySet()),
+                rs -> {
+                    productIds.putIfAbsent(rs.getString("name"), rs.getLong("id"));
+                });
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int inserted = 0;
+        for (VariantRow row : firstRowByName.values()) {
+            if (productIds.containsKey(row.productName())) {
+                continue;
+            }
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, row.productName());
+                ps.setString(2, row.description());
+                ps.setObject(3, row.categoryId());
+                ps.setObject(4, row.brandId());
+                ps.setObject(5, row.materialId());
+                ps.setObject(6, row.styleId());
+                ps.setString(7, Status.ACTIVE.name());
+                ps.setObject(8, now);
+                ps.setObject(9, now);
+                return ps;
+            }, keyHolder);
+            productIds.put(row.productName(), keyHolder.getKeyAs(Number.class).longValue());
+            inserted++;
+        }
+        return inserted;
+    }
+
+    private void insertVariants(List<VariantRow> rows, Map<String, Long> productIds) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (VariantRow row : rows) {
+            args.add(new Object[] { productIds.get(row.productName()), row.sku(), row.sizeId(), row.colorId(),
+                    row.price(), row.costPrice(), row.salePrice(), row.quantity(), row.status().name(), now, now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_VARIANT_SQL, args);
+    }
+
+    private VariantRow resolve(ParsedRow parsed, Lookups lookups) {
+        CatalogImportRow row = parsed.row();
+        String productName = required(row.getProductName(), "productName", 200);
+        String sku = required(row.getSku(), "sku", 64);
+        Long categoryId = lookups.categories().get(key(required(row.getCategory(), "category", 100)));
+        if (categoryId == null) {
+            throw new IllegalArgumentException("Unknown category: " + row.getCategory());
+        }
+        BigDecimal price = nonNegative(row.getPrice(), "price", true);
+        BigDecimal costPrice = nonNegative(row.getCostPrice(), "costPrice", true);
+        BigDecimal salePrice = nonNegative(row.getSalePrice(), "salePrice", false);
+        int quantity = row.getQuantity() == null ? 0 : row.getQuantity();
+        if (quantity < 0) {
+            throw new IllegalArgumentException("quantity must not be negative");
+        }
+        Status status;
+        try {
+            status = row.getStatus() == null ? Status.ACTIVE : Status.valueOf(row.getStatus().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + row.getStatus());
+        }
+        return new VariantRow(parsed.line(), productName, row.getDescription(), categoryId,
+                optional(lookups.brands(), row.getBrand(), "brand"),
+                toInteger(optional(lookups.materials(), row.getMaterial(), "material"), "material"),
+                toInteger(optional(lookups.styles(), row.getStyle(), "style"), "style"),
+                sku,
+                toInteger(optional(lookups.sizes(), row.getSize(), "size"), "size"),
+                toInteger(optional(lookups.colors(), row.getColor(), "color"), "color"),
+                price, costPrice, salePrice, quantity, status);
+    }
+
+    // Dimension tables are small, so they are read once per import instead of once per row
+    private Lookups loadLookups() {
+        return new Lookups(byName("categories"), byName("brands"), byName("materials"), byName("styles"),
+                byName("sizes"), byName("colors"));
+    }
+
+    private Map<String, Long> byName(String table) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM " + table, rs -> {
+            ids.putIfAbsent(key(rs.getString("name")), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    private static Long optional(Map<String, Long> lookup, String name, String field) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        Long id = lookup.get(key(name));
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown " + field + ": " + name);
+        }
+        return id;
+    }
+
+    private static String required(String value, String field, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return trimmed;
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value, String field, boolean required) {
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return null;
+        }
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException(field + " must not be negative");
+        }
+        return value;
+    }
+
+    // Reported against the row like any other bad value instead of aborting the import
+    private static Integer toInteger(Long value, String field) {
+        if (value == null) {
+            return null;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(field + " id out of range: " + value);
+        }
+        return value.intValue();
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ParsedRow(long line, CatalogImportRow row) {
+    }
+
+    private record VariantRow(long line, String productName, String description, Long categoryId, Long brandId,
+            Integer materialId, Integer styleId, String sku, Integer sizeId, Integer colorId, BigDecimal price,
+            BigDecimal costPrice, BigDecimal salePrice, int quantity, Status status) {
+    }
+
+    private record Lookups(Map<String, Long> categories, Map<String, Long> brands, Map<String, Long> materials,
+            Map<String, Long> styles, Map<String, Long> sizes, Map<String, Long> colors) {
+    }
+
+    private static final class Progress {
+        private final int maxReportedErrors;
+        private final List<CatalogImportReport.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long rowsFailed;
+        private long productsCreated;
+        private long variantsCreated;
+
+        private Progress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String message) {
+            rowsFailed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CatalogImportReport.RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadcity.jacketshopbackend.common.Enums.IdempotencyStatus;
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.CheckoutRequest;
+import com.threadcity.jacketshopbackend.dto.response.CartResponse;
+import com.threadcity.jacketshopbackend.dto.response.CheckoutResponse;
+import com.threadcity.jacketshopbackend.entity.Address;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+import com.threadcity.jacketshopbackend.entity.IdempotencyKey;
+import com.threadcity.jacketshopbackend.entity.Order;
+import com.threadcity.jacketshopbackend.entity.OrderDetail;
+import com.threadcity.jacketshopbackend.entity.Payment;
+import com.threadcity.jacketshopbackend.entity.PaymentMethod;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.entity.ShippingMethod;
+import com.threadcity.jacketshopbackend.entity.User;
+import com.threadcity.jacketshopbackend.entity.Ward;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.AddressRepository;
+import com.threadcity.jacketshopbackend.repository.IdempotencyKeyRepository;
+import com.threadcity.jacketshopbackend.repository.OrderRepository;
+import com.threadcity.jacketshopbackend.repository.PaymentMethodRepository;
+import com.threadcity.jacketshopbackend.repository.PaymentRepository;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+import com.threadcity.jacketshopbackend.repository.ShippingMethodRepository;
+import com.threadcity.jacketshopbackend.repository.WardRepository;
+import com.threadcity.jacketshopbackend.service.cart.CartEngine;
+import com.threadcity.jacketshopbackend.service.order.OrderCodeGenerator;
+import com.threadcity.jacketshopbackend.service.order.OrderService;
+import com.threadcity.jacketshopbackend.service.pricing.PricingEngine;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/*
+ * Turns a cart into an order in one transaction with a fixed number of statements however many
+ * lines the cart has: variants with their product, size and color in one query, stock as one JDBC
+ * batch, order, details and the order's PENDING payment as batched inserts on pooled sequence ids.
+ * The payment is what PaymentService later settles when the gateway or an admin reports the outcome.
+ *
+ * Retries are de-duplicated by the client's Idempotency-Key. The key row is inserted before any work
+ * and completed in the order's transaction, so a retry either replays the stored order or is told
+ * the first attempt is still running; a failed attempt deletes its key so it can be retried.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CheckoutService {
+    private static final String INSERT_KEY_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, status, expires_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String DELETE_KEY_SQL =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = ?";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_\\-:.]{8,64}");
+    private static final String NO_DIMENSION = "-";
+
+    private final CartEngine cartEngine;
+    private final CouponService couponService;
+    private final InventoryService inventoryService;
+    private final PricingEngine pricingEngine;
+    private final OrderCodeGenerator orderCodeGenerator;
+    private final OrderService orderService;
+    private final ProductVariantRepository productVariantRepository;
+    private final ShippingMethodRepository shippingMethodRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final AddressRepository addressRepository;
+    private final WardRepository wardRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${checkout.idempotency.ttl:24h}")
+    private Duration idempotencyTtl;
+
+    // An attempt that has not finished after this long is taken to be dead and may be taken over
+    @Value("${checkout.idempotency.in-progress-timeout:30s}")
+    private Duration inProgressTimeout;
+
+    public CheckoutResponse checkout(String idempotencyKey, Long userId, String guestToken, CheckoutRequest request) {
+        log.trace("CheckoutService::checkout - Execution started. [cartId: {}]", request.getCartId());
+        if (idempotencyKey == null || !KEY_PATTERN.matcher(idempotencyKey).matches()) {
+            throw new BusinessException("Idempotency-Key must be 8 to 64 letters, digits or -_:.");
+        }
+        String requestHash = hash(userId, guestToken, request);
+        CheckoutResponse replay = claim(idempotencyKey, requestHash);
+        if (replay != null) {
+            log.trace("CheckoutService::checkout - Execution completed. [orderId: {}, replayed]", replay.getOrderId());
+            return replay;
+        }
+        CheckoutResponse response;
+        try {
+            response = cartEngine.checkout(request.getCartId(), userId, guestToken,
+                    cart -> transactionTemplate.execute(status -> placeOrder(idempotencyKey, userId, request, cart)));
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(DELETE_KEY_SQL, idempotencyKey, IdempotencyStatus.IN_PROGRESS.name());
+            throw e;
+        }
+        log.trace("CheckoutService::checkout - Execution completed. [orderId: {}]", response.getOrderId());
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.idempotency.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.purgeExpired(Instant.now());
+        if (purged > 0) {
+            log.info("CheckoutService::purgeExpiredKeys - Purged {} idempotency keys.", purged);
+        }
+    }
+
+    // Returns the stored result when the key has already been used, null when this call owns the key
+    private CheckoutResponse claim(String key, String requestHash) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        try {
+            jdbcTemplate.update(INSERT_KEY_SQL, key, requestHash, IdempotencyStatus.IN_PROGRESS.name(),
+                    now.plus(idempotencyTtl), now, now);
+            return null;
+        } catch (DuplicateKeyException e) {
+            // Fall through to the existing row
+        }
+        IdempotencyKey existing = idempotencyKeyRepository.findById(key)
+                // Deleted by a failed attempt since the insert; the client may retry
+                .orElseThrow(() -> new BusinessException("Checkout with this Idempotency-Key just failed, retry"));
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key was already used for a different checkout request");
+        }
+        if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+            Order order = orderRepository.findById(existing.getOrderId())
+                    .orElseThrow(() -> new BusinessException("Order not found with id: " + existing.getOrderId()));
+            return toResponse(order, true);
+        }
+        Instant staleBefore = now.toInstant().minus(inProgressTimeout);
+        Integer claimed = transactionTemplate.execute(status -> idempotencyKeyRepository.claimStale(key,
+                IdempotencyStatus.IN_PROGRESS, staleBefore, now.toInstant()));
+        if (claimed == null || claimed == 0) {
+            throw new BusinessException("Checkout with this Idempotency-Key is already in progress");
+        }
+        return null;
+    }
+
+    private CheckoutResponse placeOrder(String key, Long userId, CheckoutRequest request, CartResponse cart) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        cart.getItems().forEach(item -> quantities.put(item.getVariantId(), item.getQuantity()));
+
+        Map<Long, ProductVariant> variants = productVariantRepository.findWithProductByIdIn(quantities.keySet())
+                .stream().collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+        for (Long variantId : quantities.keySet()) {
+            ProductVariant variant = variants.get(variantId);
+            if (variant == null || variant.getStatus() != Status.ACTIVE
+                    || variant.getProduct().getStatus() != Status.ACTIVE) {
+                throw new BusinessException("Product variant is no longer available: " + variantId);
+            }
+        }
+        ShippingMethod shippingMethod = shippingMethodRepository.findById(request.getShippingMethodId())
+                .filter(method -> method.getStatus() == Status.ACTIVE)
+                .orElseThrow(() -> new BusinessException(
+                        "Shipping method not found with id: " + request.getShippingMethodId()));
+        PaymentMethod paymentMethod = paymentMethodRepository.findById(request.getPaymentMethodId())
+                .filter(method -> method.getStatus() == Status.ACTIVE)
+                .orElseThrow(() -> new BusinessException(
+                        "Payment method not found with id: " + request.getPaymentMethodId()));
+
+        Order order = Order.builder()
+                .orderCode(orderCodeGenerator.next())
+                .user(userId == null ? null : entityManager.getReference(User.class, userId))
+                .customerName(request.getCustomerName())
+                .customerEmail(request.getCustomerEmail())
+                .customerPhone(request.getCustomerPhone())
+                .paymentMethod(paymentMethod)
+                .paymentMethodName(paymentMethod.getName())
+                .shippingMethod(shippingMethod)
+                .shippingMethodName(shippingMethod.getName())
+                .note(request.getNote())
+                .build();
+        applyShippingAddress(order, userId, request);
+
+        long[] unitPrices = new long[quantities.size()];
+        int[] lineQuantities = new int[quantities.size()];
+        int line = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            ProductVariant variant = variants.get(entry.getKey());
+            BigDecimal price = variant.getSalePrice() != null ? variant.getSalePrice() : variant.getPrice();
+            unitPrices[line] = PricingEngine.toMinor(price);
+            lineQuantities[line++] = entry.getValue();
+            order.getDetails().add(OrderDetail.builder()
+                    .order(order)
+                    .productVariant(variant)
+                    .productName(variant.getProduct().getName())
+                    .size(variant.getSize() != null ? variant.getSize().getName() : NO_DIMENSION)
+                    .color(variant.getColor() != null ? variant.getColor().getName() : NO_DIMENSION)
+                    .sku(variant.getSku())
+                    .price(price)
+                    .quantity(entry.getValue())
+                    .build());
+        }
+        long subtotal = pricingEngine.subtotal(unitPrices, lineQuantities, line);
+        long discount = 0;
+        if (request.getCouponCode() != null && !request.getCouponCode().isBlank()) {
+            CouponService.Redemption redemption = couponService.redeem(request.getCouponCode(),
+                    PricingEngine.toAmount(subtotal));
+            discount = PricingEngine.toMinor(redemption.discount());
+            order.setCoupon(entityManager.getReference(Coupon.class, redemption.couponId()));
+            order.setCouponCode(redemption.code());
+        }
+        long shippingFee = shippingMethod.getFee() != null ? PricingEngine.toMinor(shippingMethod.getFee()) : 0;
+        order.setSubtotal(PricingEngine.toAmount(subtotal));
+        order.setDiscount(PricingEngine.toAmount(discount));
+        order.setShippingFee(PricingEngine.toAmount(shippingFee));
+        order.setTotal(PricingEngine.toAmount(Math.addExact(subtotal - discount, shippingFee)));
+
+        Instant now = Instant.now();
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        orderRepository.save(order);
+        paymentRepository.save(Payment.builder()
+                .order(order)
+                .paymentMethod(paymentMethod)
+                .paymentMethodName(paymentMethod.getName())
+                .amount(order.getTotal())
+                .status(PaymentStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        orderService.orderPlaced(order);
+        // The JPQL update flushes the order inserts first
+        idempotencyKeyRepository.complete(key, order.getId(), IdempotencyStatus.COMPLETED, now);
+        // Last, so the row locks on hot variants are held only until the commit right after
+        reserveStock(cart.getId(), quantities);
+        return toResponse(order, false);
+    }
+
+    // Stock held by the cart's reservations is sold as is, the rest is taken now and any surplus returned
+    private void reserveStock(Long cartId, Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = inventoryService.consumeReservations(cartId);
+        // Negative takes stock, positive returns it; one pass keeps every row lock in id order
+        Map<Long, Integer> deltas = new TreeMap<>();
+        quantities.forEach((variantId, quantity) -> deltas.put(variantId, -quantity));
+        reserved.forEach((variantId, quantity) -> deltas.merge(variantId, quantity, Integer::sum));
+        inventoryService.adjustAll(deltas);
+    }
+
+    private void applyShippingAddress(Order order, Long userId, CheckoutRequest request) {
+        if (request.getAddressId() != null) {
+            Address address = addressRepository.findWithWardById(request.getAddressId())
+                    .filter(a -> userId != null && a.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new BusinessException("Address not found with id: " + request.getAddressId()));
+            order.setAddress(address);
+            order.setShippingRecipientName(address.getRecipientName());
+            order.setShippingRecipientPhone(address.getRecipientPhone());
+            order.setShippingAddressLine(address.getAddressLine());
+            order.setShippingWard(address.getWard());
+            order.setShippingWardName(address.getWard().getName());
+            order.setShippingProvince(address.getProvince());
+            order.setShippingProvinceName(address.getProvince().getName());
+            return;
+        }
+        if (request.getShippingWardCode() == null || request.getShippingAddressLine() == null
+                || request.getShippingAddressLine().isBlank()) {
+            throw new BusinessException("Shipping address or saved address id is required");
+        }
+        Ward ward = wardRepository.findWithProvinceByCode(request.getShippingWardCode())
+                .orElseThrow(() -> new BusinessException("Ward not found with code: " + request.getShippingWardCode()));
+        order.setShippingRecipientName(request.getShippingRecipientName() != null
+                ? request.getShippingRecipientName() : request.getCustomerName());
+        order.setShippingRecipientPhone(request.getShippingRecipientPhone() != null
+                ? request.getShippingRecipientPhone() : request.getCustomerPhone());
+        order.setShippingAddressLine(request.getShippingAddressLine());
+        order.setShippingWard(ward);
+        order.setShippingWardName(ward.getName());
+        order.setShippingProvince(ward.getProvince());
+        order.setShippingProvinceName(ward.getProvince().getName());
+    }
+
+    // The user, or a guest's cart token, is part of the hash so a key never replays another customer's order
+    private String hash(Long userId, String guestToken, CheckoutRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(userId).getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) 0);
+            if (userId == null) {
+                digest.update(String.valueOf(guestToken).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash checkout request", e);
+        }
+    }
+
+    private static CheckoutResponse toResponse(Order order, boolean replayed) {
+        return CheckoutResponse.builder()
+                .orderId(order.getId())
+                .orderCode(order.getOrderCode())
+                .status(order.getStatus())
+                .subtotal(order.getSubtotal())
+                .shippingFee(order.getShippingFee())
+                .discount(order.getDiscount())
+                .total(order.getTotal())
+                .replayed(replayed)
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+}
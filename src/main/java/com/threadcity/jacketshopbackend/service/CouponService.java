@@ -0,0 +1,72 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.CouponRepository;
+import com.threadcity.jacketshopbackend.service.pricing.PricingEngine;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponService {
+    private final CouponRepository couponRepository;
+    private final PricingEngine pricingEngine;
+
+    /*
+     * Validation runs on the loaded row for clear error messages, but only the conditional
+     * UPDATE decides whether a use is granted, so usageLimit can never be exceeded.
+     */
+    @Transactional
+    public Redemption redeem(String code, BigDecimal orderValue) {
+        log.trace("CouponService::redeem - Execution started. [code: {}]", code);
+        Coupon coupon = couponRepository.findByCode(code)
+                .orElseThrow(() -> new BusinessException("Coupon not found with code: " + code));
+        Instant now = Instant.now();
+        validate(coupon, orderValue, now);
+        BigDecimal discount = calculateDiscount(coupon, orderValue);
+        if (couponRepository.redeem(coupon.getId(), Status.ACTIVE, now) == 0) {
+            throw new BusinessException("Coupon is no longer available: " + code);
+        }
+        log.trace("CouponService::redeem - Execution completed. [code: {}]", code);
+        return new Redemption(coupon.getId(), coupon.getCode(), discount);
+    }
+
+    // Gives a use back, e.g. when the order that redeemed it is cancelled
+    @Transactional
+    public void release(Long couponId) {
+        log.trace("CouponService::release - Execution started. [couponId: {}]", couponId);
+        couponRepository.release(couponId);
+        log.trace("CouponService::release - Execution completed. [couponId: {}]", couponId);
+    }
+
+    public BigDecimal calculateDiscount(Coupon coupon, BigDecimal orderValue) {
+        long discount = pricingEngine.discount(PricingEngine.CouponTerms.of(coupon), PricingEngine.toMinor(orderValue));
+        return PricingEngine.toAmount(discount);
+    }
+
+    private void validate(Coupon coupon, BigDecimal orderValue, Instant now) {
+        if (coupon.getStatus() != Status.ACTIVE) {
+            throw new BusinessException("Coupon is not active: " + coupon.getCode());
+        }
+        if (now.isBefore(coupon.getValidFrom()) || now.isAfter(coupon.getValidTo())) {
+            throw new BusinessException("Coupon is not valid at this time: " + coupon.getCode());
+        }
+        if (coupon.getMinOrderValue() != null && orderValue.compareTo(coupon.getMinOrderValue()) < 0) {
+            throw new BusinessException("Order value is below the minimum for coupon: " + coupon.getCode());
+        }
+        if (coupon.getUsageLimit() != null && coupon.getUsedCount() >= coupon.getUsageLimit()) {
+            throw new BusinessException("Coupon is no longer available: " + coupon.getCode());
+        }
+    }
+
+    public record Redemption(Long couponId, String code, BigDecimal discount) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.threadcity.jacketshopbackend.common.Enums.ReservationStatus;
+import com.threadcity.jacketshopbackend.entity.StockReservation;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+import com.threadcity.jacketshopbackend.repository.StockReservationRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Stock is only ever changed with conditional single-row UPDATEs, never read-modify-write,
+ * so a hot SKU serializes on its row lock for one statement instead of a whole checkout.
+ * Multi-row changes always touch variants in ascending id order, which rules out deadlocks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+    // Every stock write stamps updated_at, which incremental catalog exports filter on
+    private static final String DECREMENT_SQL =
+            "UPDATE product_variants SET quantity = quantity - ?, updated_at = ? WHERE id = ? AND quantity >= ?";
+    private static final String INCREMENT_SQL =
+            "UPDATE product_variants SET quantity = quantity + ?, updated_at = ? WHERE id = ?";
+    private static final String ADJUST_SQL =
+            "UPDATE product_variants SET quantity = quantity + ?, updated_at = ? WHERE id = ? AND quantity + ? >= 0";
+
+    private final ProductVariantRepository productVariantRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogChangeTracker catalogChangeTracker;
+
+    @Value("${inventory.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds;
+
+    @Value("${inventory.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Transactional
+    public StockReservation reserve(Long cartId, Long variantId, int quantity) {
+        log.trace("InventoryService::reserve - Execution started. [cartId: {}, variantId: {}]", cartId, variantId);
+        requirePositive(quantity);
+        if (productVariantRepository.decrementStock(variantId, quantity, Instant.now()) == 0) {
+            throw new BusinessException("Insufficient stock for variant: " + variantId);
+        }
+        catalogChangeTracker.variantsChanged(List.of(variantId));
+        Instant now = Instant.now();
+        StockReservation reservation = stockReservationRepository.save(StockReservation.builder()
+                .cartId(cartId)
+                .productVariantId(variantId)
+                .quantity(quantity)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(now.plusSeconds(reservationTtlSeconds))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.trace("InventoryService::reserve - Execution completed. [reservationId: {}]", reservation.getId());
+        return reservation;
+    }
+
+    @Transactional
+    public void release(Long reservationId) {
+        log.trace("InventoryService::release - Execution started. [reservationId: {}]", reservationId);
+        StockReservation reservation = stockReservationRepository.findById(reservationId)
+                .orElseThrow(() -> new BusinessException("Reservation not found with id: " + reservationId));
+        returnStock(List.of(reservation), ReservationStatus.RELEASED);
+        log.trace("InventoryService::release - Execution completed. [reservationId: {}]", reservationId);
+    }
+
+    @Transactional
+    public void releaseCart(Long cartId) {
+        log.trace("InventoryService::releaseCart - Execution started. [cartId: {}]", cartId);
+        returnStock(stockReservationRepository.findByCartIdAndStatus(cartId, ReservationStatus.ACTIVE),
+                ReservationStatus.RELEASED);
+        log.trace("InventoryService::releaseCart - Execution completed. [cartId: {}]", cartId);
+    }
+
+    // Turns the cart's live reservations into sold stock, returns reserved quantity per variant
+    @Transactional
+    public Map<Long, Integer> consumeReservations(Long cartId) {
+        log.trace("InventoryService::consumeReservations - Execution started. [cartId: {}]", cartId);
+        List<StockReservation> reservations = stockReservationRepository
+                .findByCartIdAndStatus(cartId, ReservationStatus.ACTIVE);
+        Map<Long, Integer> reserved = new TreeMap<>();
+        if (reservations.isEmpty()) {
+            return reserved;
+        }
+        List<Long> ids = reservations.stream().map(StockReservation::getId).toList();
+        int consumed = stockReservationRepository.transition(ids, ReservationStatus.ACTIVE,
+                ReservationStatus.CONSUMED, Instant.now());
+        if (consumed != ids.size()) {
+            // The sweeper expired some of them in the meantime and already gave the stock back
+            throw new BusinessException("Stock reservation expired for cart: " + cartId);
+        }
+        reservations.forEach(r -> reserved.merge(r.getProductVariantId(), r.getQuantity(), Integer::sum));
+        log.trace("InventoryService::consumeReservations - Execution completed. [cartId: {}]", cartId);
+        return reserved;
+    }
+
+    // All-or-nothing decrement for multi-line orders, sent as one JDBC batch
+    @Transactional
+    public void decrementAll(Map<Long, Integer> quantities) {
+        log.trace("InventoryService::decrementAll - Execution started. [lines: {}]", quantities.size());
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        ordered.forEach((variantId, quantity) -> {
+            requirePositive(quantity);
+            args.add(new Object[] { quantity, now, variantId, quantity });
+        });
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                // Runtime exception rolls back the rows already decremented in this batch
+                throw new BusinessException("Insufficient stock for variant: " + args.get(i)[2]);
+            }
+        }
+        catalogChangeTracker.variantsChanged(ordered.keySet());
+        log.trace("InventoryService::decrementAll - Execution completed.");
+    }
+
+    @Transactional
+    public void incrementAll(Map<Long, Integer> quantities) {
+        log.trace("InventoryService::incrementAll - Execution started. [lines: {}]", quantities.size());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        new TreeMap<>(quantities).forEach((variantId, quantity) -> args.add(new Object[] { quantity, now, variantId }));
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, args);
+        catalogChangeTracker.variantsChanged(quantities.keySet());
+        log.trace("InventoryService::incrementAll - Execution completed.");
+    }
+
+    /*
+     * Applies signed deltas in one ascending-id batch, so a change that both takes and returns stock
+     * locks its rows in the same order as every other multi-row change. All-or-nothing like decrementAll.
+     */
+    @Transactional
+    public void adjustAll(Map<Long, Integer> deltas) {
+        log.trace("InventoryService::adjustAll - Execution started. [lines: {}]", deltas.size());
+        Map<Long, Integer> ordered = new TreeMap<>(deltas);
+        ordered.values().removeIf(delta -> delta == 0);
+        if (ordered.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        ordered.forEach((variantId, delta) -> args.add(new Object[] { delta, now, variantId, delta }));
+        int[] counts = jdbcTemplate.batchUpdate(ADJUST_SQL, args);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                // Runtime exception rolls back the rows already adjusted in this batch
+                throw new BusinessException("Insufficient stock for variant: " + args.get(i)[2]);
+            }
+        }
+        catalogChangeTracker.variantsChanged(ordered.keySet());
+        log.trace("InventoryService::adjustAll - Execution completed.");
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.sweep-interval-ms:15000}")
+    @Transactional
+    public void expireReservations() {
+        List<StockReservation> expired = stockReservationRepository.findByStatusAndExpiresAtBeforeOrderById(
+                ReservationStatus.ACTIVE, Instant.now(), Limit.of(sweepBatchSize));
+        if (expired.isEmpty()) {
+            return;
+        }
+        int returned = returnStock(expired, ReservationStatus.EXPIRED);
+        log.info("InventoryService::expireReservations - Expired {} reservations.", returned);
+    }
+
+    // Moves each reservation out of ACTIVE one row at a time and restocks only the ones this call won
+    private int returnStock(List<StockReservation> reservations, ReservationStatus to) {
+        Instant now = Instant.now();
+        Map<Long, Integer> restock = new TreeMap<>();
+        int moved = 0;
+        for (StockReservation reservation : reservations) {
+            if (stockReservationRepository.transition(List.of(reservation.getId()), ReservationStatus.ACTIVE, to,
+                    now) == 1) {
+                restock.merge(reservation.getProductVariantId(), reservation.getQuantity(), Integer::sum);
+                moved++;
+            }
+        }
+        if (!restock.isEmpty()) {
+            incrementAll(restock);
+        }
+        return moved;
+    }
+
+    private void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new BusinessException("Quantity must be greater than 0");
+        }
+    }
+}
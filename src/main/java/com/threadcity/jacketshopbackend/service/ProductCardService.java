@@ -0,0 +1,213 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.ProductCardFilter;
+import com.threadcity.jacketshopbackend.dto.response.PageResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductCardResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductFacetResponse;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductCard;
+import com.threadcity.jacketshopbackend.event.CatalogChangeBuffer;
+import com.threadcity.jacketshopbackend.event.CatalogChangedEvent;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.mapper.ProductMapper;
+import com.threadcity.jacketshopbackend.repository.ProductCardRepository;
+import com.threadcity.jacketshopbackend.repository.ProductCardSpecifications;
+import com.threadcity.jacketshopbackend.repository.ProductCardSpecifications.Facet;
+import com.threadcity.jacketshopbackend.repository.ProductRepository;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository.AvailableDimensions;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository.PriceStockSummary;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCardService {
+    // Keeps IN lists well below the SQL Server limit of 2100 parameters
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final ProductCardRepository productCardRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final ProductMapper productMapper;
+    private final TransactionTemplate transactionTemplate;
+    // Ids changed since the last refresh, one refresh per interval however often a product changes
+    private final CatalogChangeBuffer pendingChanges = new CatalogChangeBuffer();
+
+    // Size and color sets are batch-fetched while mapping, which needs the session open
+    @Transactional
+    public PageResponse<?> getProductCards(Status status, ProductCardFilter filter, int page, int size, String sortBy) {
+        log.trace("ProductCardService::getProductCards - Execution started.");
+        try {
+            int p = Math.max(0, page);
+            String[] sortParams = sortBy.split(",");
+            Sort sortOrder = Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0])
+                    .and(Sort.by(Sort.Direction.ASC, "productId"));
+            Pageable pageable = PageRequest.of(p, size, sortOrder);
+            Page<ProductCard> cardPage = productCardRepository.findAll(ProductCardSpecifications.matching(status, filter),
+                    pageable);
+            List<ProductCardResponse> cardList = cardPage.stream()
+                    .map(productMapper::toCardDto)
+                    .toList();
+            log.trace("ProductCardService::getProductCards - Execution completed.");
+            return PageResponse.builder()
+                    .contents(cardList)
+                    .size(size)
+                    .page(p)
+                    .totalPages(cardPage.getTotalPages())
+                    .totalElements(cardPage.getTotalElements())
+                    .hasNext(cardPage.hasNext())
+                    .build();
+        } catch (Exception e) {
+            log.error("ProductCardService::getProductCards - Execution failed.", e);
+            throw new BusinessException("ProductCardService::getProductCards - Execution failed.");
+        }
+    }
+
+    public ProductFacetResponse getFacets(Status status, ProductCardFilter filter) {
+        log.trace("ProductCardService::getFacets - Execution started.");
+        ProductFacetResponse response = ProductFacetResponse.builder()
+                .categories(count("categoryId", status, filter, Facet.CATEGORY))
+                .brands(count("brandId", status, filter, Facet.BRAND))
+                .materials(count("materialId", status, filter, Facet.MATERIAL))
+                .styles(count("styleId", status, filter, Facet.STYLE))
+                .sizes(count("sizeIds", status, filter, Facet.SIZE))
+                .colors(count("colorIds", status, filter, Facet.COLOR))
+                .build();
+        log.trace("ProductCardService::getFacets - Execution completed.");
+        return response;
+    }
+
+    // Runs on the committing request thread, so it only queues the ids for refreshPending
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        pendingChanges.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.read-model.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        try {
+            pendingChanges.drain(this::refresh);
+        } catch (RuntimeException e) {
+            log.warn("ProductCardService::refreshPending - Execution failed, will retry.", e);
+        }
+    }
+
+    private void refresh(CatalogChangedEvent event) {
+        Set<Long> productIds = new TreeSet<>(event.productIds());
+        for (List<Long> chunk : chunks(event.variantIds())) {
+            productIds.addAll(productVariantRepository.findProductIdsByIdIn(chunk));
+        }
+        for (List<Long> chunk : chunks(productIds)) {
+            transactionTemplate.executeWithoutResult(status -> refreshProducts(chunk));
+        }
+    }
+
+    // Backfills cards for catalogs created before the read model existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        if (productCardRepository.count() != productRepository.count()) {
+            rebuildAll();
+        }
+    }
+
+    public void rebuildAll() {
+        log.trace("ProductCardService::rebuildAll - Execution started.");
+        List<List<Long>> chunks = chunks(productRepository.findAllIds());
+        for (List<Long> chunk : chunks) {
+            transactionTemplate.executeWithoutResult(status -> refreshProducts(chunk));
+        }
+        log.trace("ProductCardService::rebuildAll - Execution completed. [chunks: {}]", chunks.size());
+    }
+
+    // Four reads per chunk however many variants the products have
+    private void refreshProducts(Collection<Long> productIds) {
+        Map<Long, ProductCard> cards = productCardRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+        Map<Long, PriceStockSummary> summaries = productVariantRepository
+                .summarizeByProductIds(productIds, Status.ACTIVE).stream()
+                .collect(Collectors.toMap(PriceStockSummary::getProductId, Function.identity()));
+        Map<Long, Set<Integer>> sizes = new HashMap<>();
+        Map<Long, Set<Integer>> colors = new HashMap<>();
+        for (AvailableDimensions dimensions : productVariantRepository.findAvailableDimensions(productIds,
+                Status.ACTIVE)) {
+            if (dimensions.getSizeId() != null) {
+                sizes.computeIfAbsent(dimensions.getProductId(), id -> new HashSet<>()).add(dimensions.getSizeId());
+            }
+            if (dimensions.getColorId() != null) {
+                colors.computeIfAbsent(dimensions.getProductId(), id -> new HashSet<>()).add(dimensions.getColorId());
+            }
+        }
+
+        List<ProductCard> refreshed = new ArrayList<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            ProductCard card = cards.remove(product.getId());
+            if (card == null) {
+                card = ProductCard.builder().productId(product.getId()).build();
+            }
+            // getId() on the lazy dimension proxies does not initialize them
+            card.setName(product.getName());
+            card.setCategoryId(product.getCategory().getId());
+            card.setBrandId(product.getBrand() == null ? null : product.getBrand().getId());
+            card.setMaterialId(product.getMaterial() == null ? null : product.getMaterial().getId());
+            card.setStyleId(product.getStyle() == null ? null : product.getStyle().getId());
+            card.setStatus(product.getStatus());
+            card.setCreatedAt(product.getCreatedAt());
+            card.setUpdatedAt(product.getUpdatedAt());
+
+            PriceStockSummary summary = summaries.get(product.getId());
+            card.setMinPrice(summary == null ? null : summary.getMinPrice());
+            card.setMaxPrice(summary == null ? null : summary.getMaxPrice());
+            card.setTotalStock(summary == null || summary.getTotalStock() == null
+                    ? 0 : Math.toIntExact(summary.getTotalStock()));
+            replace(card.getSizeIds(), sizes.getOrDefault(product.getId(), Set.of()));
+            replace(card.getColorIds(), colors.getOrDefault(product.getId(), Set.of()));
+            refreshed.add(card);
+        }
+        productCardRepository.saveAll(refreshed);
+        // Whatever is left belongs to products that no longer exist
+        productCardRepository.deleteAll(cards.values());
+    }
+
+    private Map<Long, Long> count(String attribute, Status status, ProductCardFilter filter, Facet facet) {
+        return productCardRepository.countBy(attribute, ProductCardSpecifications.matching(status, filter, facet));
+    }
+
+    // Only touches the rows of the element collection that actually changed
+    private static void replace(Set<Integer> current, Set<Integer> wanted) {
+        current.retainAll(wanted);
+        current.addAll(wanted);
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += REFRESH_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(all.size(), i + REFRESH_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.service;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.response.ProductDetailResponse;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.mapper.ProductMapper;
+import com.threadcity.jacketshopbackend.repository.ProductRepository;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductService {
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final ProductMapper productMapper;
+
+    // Two queries whatever the variant count: product + dimensions, then variants + size/color.
+    // Only the product and variants in the given status are visible, others read as not found.
+    public ProductDetailResponse getProductDetail(Status status, Long id) {
+        log.trace("ProductService::getProductDetail - Execution started. [Id: {}]", id);
+        Product product = productRepository.findDetailByIdAndStatus(id, status)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found with ProductId: " + id));
+        List<ProductVariant> variants = productVariantRepository.findByProductIdAndStatusOrderByIdAsc(id, status);
+        log.trace("ProductService::getProductDetail - Execution completed. [ProductId: {}]", id);
+        return productMapper.toDetailDto(product, variants);
+    }
+}
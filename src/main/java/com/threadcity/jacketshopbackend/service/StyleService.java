@@ -1,6 +1,11 @@
 package com.threadcity.jacketshopbackend.service;
 
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.common.Enums.UpsertOutcome;
+import com.threadcity.jacketshopbackend.common.KeysetCursorCodec;
+import com.threadcity.jacketshopbackend.configuration.CacheConfig;
 import com.threadcity.jacketshopbackend.dto.request.StyleRequest;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse;
 import com.threadcity.jacketshopbackend.dto.response.PageResponse;
 import com.threadcity.jacketshopbackend.dto.response.StyleResponse;
 import com.threadcity.jacketshopbackend.entity.Style;
@@ -11,13 +16,34 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -25,48 +51,105 @@ import java.util.List;
 public class StyleService {
     private final StyleRepository styleRepository;
     private final StyleMapper styleMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
 
+    private static final String INSERT_STYLE_SQL =
+            "INSERT INTO styles (name, description, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int NAME_LOOKUP_CHUNK = 1000;
+
+    @Value("${catalog.bulk.max-items:5000}")
+    private int maxBulkItems;
+
+    private static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            "id", Integer.class,
+            "name", String.class,
+            "createdAt", Instant.class,
+            "updatedAt", Instant.class);
+
+    @Cacheable(cacheNames = CacheConfig.STYLES, key = "#Id", sync = true)
     public StyleResponse getStyleById(Integer Id) {
-        log.info("StyleService::getStyleById - Execution started. [Id: {}]", Id);
+        log.trace("StyleService::getStyleById - Execution started. [Id: {}]", Id);
         Style style = styleRepository.findById(Id)
                 .orElseThrow(() -> new EntityNotFoundException("Style not found with StyleId: " + Id));
-        log.info("StyleService::getStyleById - Execution completed. [StyleId: {}]", Id);
+        log.trace("StyleService::getStyleById - Execution completed. [StyleId: {}]", Id);
         return styleMapper.toDto(style);
     }
 
-    public PageResponse<?> getAllStyle(int page, int size, String sortBy) {
-        log.info("StyleService::getAllStyle - Execution started.");
+    @Cacheable(cacheNames = CacheConfig.STYLE_PAGES, key = "#page + ':' + #size + ':' + #sortBy + ':' + #withCount", sync = true)
+    public PageResponse<?> getAllStyle(int page, int size, String sortBy, boolean withCount) {
+        log.trace("StyleService::getAllStyle - Execution started.");
         try {
             int p = Math.max(0, page);
             String[] sortParams = sortBy.split(",");
             Sort sortOrder = Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0]);
             Pageable pageable = PageRequest.of(p, size, sortOrder);
-            Page<Style> stylePage = styleRepository.findAll(pageable);
-            List<StyleResponse> StyleList = stylePage.stream()
+            Slice<Style> styleSlice = styleRepository.findAllBy(pageable);
+            List<StyleResponse> StyleList = styleSlice.stream()
                     .map(styleMapper::toDto)
                     .toList();
-            log.info("StyleService::getAllStyle - Execution completed.");
-            return PageResponse.builder()
+            PageResponse.PageResponseBuilder<Object> builder = PageResponse.builder()
                     .contents(StyleList)
                     .size(size)
                     .page(p)
-                    .totalPages(stylePage.getTotalPages())
-                    .totalElements(stylePage.getTotalElements()).build();
+                    .hasNext(styleSlice.hasNext());
+            if (withCount) {
+                // Only runs the (cached) count when the slice alone cannot tell the total
+                Page<Style> stylePage = PageableExecutionUtils.getPage(styleSlice.getContent(), pageable,
+                        this::countStyles);
+                builder.totalPages(stylePage.getTotalPages())
+                        .totalElements(stylePage.getTotalElements());
+            }
+            log.trace("StyleService::getAllStyle - Execution completed.");
+            return builder.build();
         } catch (Exception e) {
             log.error("StyleService::getAllStyle - Execution failed.", e);
             throw new BusinessException("StyleService::getAllStyle - Execution failed.");
         }
     }
+
+    // Keyset paging, no OFFSET and no COUNT(*). An empty cursor starts from the first row.
+    @Cacheable(cacheNames = CacheConfig.STYLE_PAGES, key = "'cursor:' + #cursor + ':' + #size + ':' + #sortBy", sync = true)
+    public PageResponse<?> getStylesByCursor(String cursor, int size, String sortBy) {
+        log.trace("StyleService::getStylesByCursor - Execution started.");
+        KeysetCursorCodec.Position position = keysetCursorCodec.decode(cursor, sortBy, CURSOR_SORT_KEYS);
+        try {
+            Window<Style> window = styleRepository.findBy(Example.of(new Style()), query -> query
+                    .sortBy(position.sort())
+                    .limit(size)
+                    .scroll(position.scrollPosition()));
+            List<StyleResponse> StyleList = window.stream()
+                    .map(styleMapper::toDto)
+                    .toList();
+            log.trace("StyleService::getStylesByCursor - Execution completed.");
+            return PageResponse.builder()
+                    .contents(StyleList)
+                    .size(size)
+                    .hasNext(window.hasNext())
+                    .nextCursor(keysetCursorCodec.nextCursor(window, position))
+                    .build();
+        } catch (Exception e) {
+            log.error("StyleService::getStylesByCursor - Execution failed.", e);
+            throw new BusinessException("StyleService::getStylesByCursor - Execution failed.");
+        }
+    }
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STYLE_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_COUNTS, allEntries = true)
+    })
     public StyleResponse createStyle(StyleRequest style) {
-        log.info("StyleService::createStyle - Execution started.");
+        log.trace("StyleService::createStyle - Execution started.");
         if (styleRepository.existsByName(style.getName())) {
             throw new BusinessException("Style already exists with name: " + style.getName());
         }
         try {
             Style styleEntity = styleMapper.toEntity(style);
             Style savedStyle = styleRepository.save(styleEntity);
-            log.info("StyleService::createStyle - Execution completed.");
+            log.trace("StyleService::createStyle - Execution completed.");
             return styleMapper.toDto(savedStyle);
         } catch (Exception e) {
             log.error("StyleService::createStyle - Execution failed.", e);
@@ -74,8 +157,12 @@ public class StyleService {
         }
     }
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STYLES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_PAGES, allEntries = true)
+    })
     public StyleResponse updateStyleById(StyleRequest styleRequest, Integer id) {
-        log.info("StyleService::updateStyleById - Execution started.");
+        log.trace("StyleService::updateStyleById - Execution started.");
         try {
             Style style = styleRepository.findById(id).orElseThrow(() ->
                     new EntityNotFoundException("Style not found with StyleId: " + id));
@@ -83,7 +170,7 @@ public class StyleService {
             style.setDescription(styleRequest.getDescription());
             style.setStatus(styleRequest.getStatus());
             Style savedStyle = styleRepository.save(style);
-            log.info("StyleService::updateProfile - Execution completed. [StyleId: {}]", id);
+            log.trace("StyleService::updateProfile - Execution completed. [StyleId: {}]", id);
             return styleMapper.toDto(savedStyle);
         } catch (RuntimeException e) {
             log.error("StyleService::updateProfile - Execution failed.", e);
@@ -92,17 +179,129 @@ public class StyleService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STYLES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_COUNTS, allEntries = true)
+    })
     public void deleteStyle(Integer id) {
-        log.info("StyleService::deleteStyle - Execution started.");
+        log.trace("StyleService::deleteStyle - Execution started.");
         try {
             if (!styleRepository.existsById(id)) {
                 throw new EntityNotFoundException("Style not found with StyleId: " + id);
             }
             styleRepository.deleteById(id);
-            log.info("StyleService::deleteStyle - Execution completed.");
+            log.trace("StyleService::deleteStyle - Execution completed.");
         } catch (Exception e) {
             log.error("StyleService::deleteStyle - Execution failed.", e);
             throw new BusinessException("StyleService::deleteStyle - Execution failed.");
         }
     }
+
+    // One set-based name lookup, inserts as a single JDBC batch and updates flushed as Hibernate batches,
+    // all in one transaction. Names are matched case-insensitively, like the database collation.
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STYLES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.STYLE_COUNTS, allEntries = true)
+    })
+    public BulkUpsertResponse upsertStyles(List<StyleRequest> requests) {
+        log.trace("StyleService::upsertStyles - Execution started. [items: {}]", requests.size());
+        if (requests.size() > maxBulkItems) {
+            throw new BusinessException("At most " + maxBulkItems + " styles can be upserted at once");
+        }
+        BulkUpsertResponse.Item[] items = new BulkUpsertResponse.Item[requests.size()];
+        Map<String, Integer> indexByKey = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            StyleRequest request = requests.get(i);
+            String name = request == null || request.getName() == null ? null : request.getName().trim();
+            if (name == null || name.isEmpty()) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED, "Name cannot be null");
+            } else if (name.length() > MAX_NAME_LENGTH) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED,
+                        "Name is longer than " + MAX_NAME_LENGTH + " characters");
+            } else if (indexByKey.putIfAbsent(nameKey(name), i) != null) {
+                items[i] = new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED, "Duplicate name in request");
+            }
+        }
+
+        List<String> names = new ArrayList<>(indexByKey.size());
+        indexByKey.values().forEach(i -> names.add(requests.get(i).getName().trim()));
+        Map<String, Style> existing = findByNames(names);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> inserts = new ArrayList<>();
+        indexByKey.forEach((key, i) -> {
+            StyleRequest request = requests.get(i);
+            String name = request.getName().trim();
+            Style style = existing.get(key);
+            if (style == null) {
+                Status status = request.getStatus() == null ? Status.ACTIVE : request.getStatus();
+                inserts.add(new Object[] { name, request.getDescription(), status.name(), now, now });
+                return;
+            }
+            Status status = request.getStatus() == null ? style.getStatus() : request.getStatus();
+            if (name.equals(style.getName()) && Objects.equals(request.getDescription(), style.getDescription())
+                    && status == style.getStatus()) {
+                items[i] = new BulkUpsertResponse.Item(i, name, style.getId().longValue(),
+                        UpsertOutcome.UNCHANGED, null);
+                return;
+            }
+            // Dirty checking turns these into batched UPDATEs at flush
+            style.setName(name);
+            style.setDescription(request.getDescription());
+            style.setStatus(status);
+            style.setUpdatedAt(now.toInstant());
+            items[i] = new BulkUpsertResponse.Item(i, name, style.getId().longValue(), UpsertOutcome.UPDATED,
+                    null);
+        });
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STYLE_SQL, inserts);
+            // IDENTITY keys of a batch are not returned, read them back by name
+            List<String> insertedNames = new ArrayList<>(inserts.size());
+            inserts.forEach(row -> insertedNames.add((String) row[0]));
+            Map<String, Style> created = findByNames(insertedNames);
+            for (String name : insertedNames) {
+                int i = indexByKey.get(nameKey(name));
+                Style style = created.get(nameKey(name));
+                // Collation, trailing spaces or a concurrent rename can hide the new row from the lookup
+                items[i] = style == null
+                        ? new BulkUpsertResponse.Item(i, name, null, UpsertOutcome.FAILED,
+                                "Inserted, but its id could not be read back")
+                        : new BulkUpsertResponse.Item(i, style.getName(), style.getId().longValue(),
+                                UpsertOutcome.CREATED, null);
+            }
+        }
+        BulkUpsertResponse response = BulkUpsertResponse.of(Arrays.asList(items));
+        log.trace("StyleService::upsertStyles - Execution completed. [created: {}, updated: {}, failed: {}]",
+                response.getCreated(), response.getUpdated(), response.getFailed());
+        return response;
+    }
+
+    // Keyed by nameKey, whatever the case of the stored name
+    private Map<String, Style> findByNames(List<String> names) {
+        Map<String, Style> styles = new HashMap<>();
+        // Stays well below the SQL Server limit of 2100 parameters per statement
+        for (int i = 0; i < names.size(); i += NAME_LOOKUP_CHUNK) {
+            styleRepository.findByNameIn(names.subList(i, Math.min(names.size(), i + NAME_LOOKUP_CHUNK)))
+                    .forEach(style -> styles.putIfAbsent(nameKey(style.getName()), style));
+        }
+        return styles;
+    }
+
+    // Short-lived, evicted on create and delete. Cached here rather than on StyleRepository.count() so
+    // other callers of count() still read the table.
+    private long countStyles() {
+        Cache cache = cacheManager.getCache(CacheConfig.STYLE_COUNTS);
+        if (cache == null) {
+            return styleRepository.count();
+        }
+        Long count = cache.get("all", styleRepository::count);
+        return count == null ? 0 : count;
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
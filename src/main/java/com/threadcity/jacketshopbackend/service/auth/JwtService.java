@@ -9,7 +9,6 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,10 +16,12 @@ import org.springframework.stereotype.Service;
 import com.threadcity.jacketshopbackend.common.Enums.TokenType;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -39,6 +40,33 @@ public class JwtService {
     @Value("${jwt.issuer}")
     private String issuer;
 
+    // Key and parser are immutable and thread-safe, build them once
+    private Key signInKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
+    // Parse and check signature once, callers read everything from the result
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return VerifiedToken.builder()
+                .userId(extractUserId(claims))
+                .subject(claims.getSubject())
+                .type(claims.get("type", String.class))
+                .jti(claims.get("jti", String.class))
+                .roles(extractRoles(claims))
+                .issuedAt(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())
+                .expiresAt(claims.getExpiration() == null ? null : claims.getExpiration().toInstant())
+                .build();
+    }
+
     // Extract claims
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -58,22 +86,18 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     // Check tokens is valid
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return userDetails.getUsername().equals(token.getSubject()) && !token.isExpired();
     }
 
     // Check type of token
@@ -92,6 +116,9 @@ public class JwtService {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
         claims.put("roles", roles);
+        if (userDetails instanceof UserDetailsImpl user) {
+            claims.put("uid", user.getId());
+        }
         claims.put("type", TokenType.ACCESS.name());
         claims.put("jti", jti);
         return buildToken(claims, userDetails, accessTokenExpiration);
@@ -111,12 +138,22 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Long extractUserId(Claims claims) {
+        Object userId = claims.get("uid");
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    private List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .map(String::valueOf)
+                .toList();
     }
 }
@@ -0,0 +1,88 @@
+package com.threadcity.jacketshopbackend.service.auth;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.threadcity.jacketshopbackend.event.RefreshTokenRevokedEvent;
+import com.threadcity.jacketshopbackend.event.UserChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * In-memory deny list checked on every authenticated request.
+ * Entries only need to live as long as an access token can, so both maps stay small.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    @Value("${jwt.access-ttl-seconds:1800000}")
+    private long accessTokenExpiration;
+
+    // jti -> time the revoked token expires anyway
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    // username -> tokens issued at or before this instant are rejected
+    private final Map<String, Revocation> revokedUsers = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.getJti() != null && revokedTokens.containsKey(token.getJti())) {
+            return true;
+        }
+        if (revokedUsers.isEmpty() || token.getSubject() == null) {
+            return false;
+        }
+        Revocation revocation = revokedUsers.get(token.getSubject());
+        // iat has second precision, so compare against the truncated revocation time
+        return revocation != null
+                && (token.getIssuedAt() == null || !token.getIssuedAt().isAfter(revocation.revokedAt()));
+    }
+
+    public void revokeToken(String jti, Instant expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        Instant keepUntil = expiresAt != null ? expiresAt : Instant.now().plusMillis(accessTokenExpiration);
+        revokedTokens.put(jti, keepUntil);
+        log.debug("TokenRevocationService::revokeToken - Token revoked. [jti: {}]", jti);
+    }
+
+    public void revokeUser(String username) {
+        if (username == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        revokedUsers.put(username, new Revocation(now.truncatedTo(ChronoUnit.SECONDS),
+                now.plusMillis(accessTokenExpiration)));
+        log.debug("TokenRevocationService::revokeUser - Tokens revoked. [username: {}]", username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.isActive()) {
+            revokeUser(event.username());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRefreshTokenRevoked(RefreshTokenRevokedEvent event) {
+        revokeToken(event.jti(), event.expiresAt());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(keepUntil -> keepUntil.isBefore(now));
+        revokedUsers.values().removeIf(revocation -> revocation.keepUntil().isBefore(now));
+    }
+
+    private record Revocation(Instant revokedAt, Instant keepUntil) {
+    }
+}
@@ -1,11 +1,18 @@
 package com.threadcity.jacketshopbackend.service.auth;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.threadcity.jacketshopbackend.configuration.CacheConfig;
 import com.threadcity.jacketshopbackend.entity.User;
+import com.threadcity.jacketshopbackend.event.RefreshTokenRevokedEvent;
+import com.threadcity.jacketshopbackend.event.UserChangedEvent;
 import com.threadcity.jacketshopbackend.mapper.UserMapper;
 import com.threadcity.jacketshopbackend.repository.UserRepository;
 
@@ -17,12 +24,36 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CacheManager cacheManager;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#username", sync = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         return userMapper.toUserDetailsImpl(user);
     }
 
+    public void evict(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        if (cache != null && username != null) {
+            cache.evict(username);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRefreshTokenRevoked(RefreshTokenRevokedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        userRepository.findById(event.userId())
+                .map(User::getUsername)
+                .ifPresent(this::evict);
+    }
+
 }
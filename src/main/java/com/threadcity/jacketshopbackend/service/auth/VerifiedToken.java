@@ -0,0 +1,41 @@
+package com.threadcity.jacketshopbackend.service.auth;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.threadcity.jacketshopbackend.common.Enums.TokenType;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// Claims of a token whose signature has already been checked by JwtService#verify
+@Getter
+@Builder
+public class VerifiedToken {
+
+    private final Long userId;
+
+    private final String subject;
+
+    private final String type;
+
+    private final String jti;
+
+    private final List<String> roles;
+
+    private final Instant issuedAt;
+
+    private final Instant expiresAt;
+
+    public boolean isAccessToken() {
+        return TokenType.ACCESS.name().equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TokenType.REFRESH.name().equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
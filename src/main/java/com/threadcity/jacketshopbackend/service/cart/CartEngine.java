@@ -0,0 +1,421 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.response.CartResponse;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Active carts live in memory and every edit is applied there after being appended to CartJournal,
+ * so an edit costs a map update and a log write instead of a transaction. Dirty carts are written
+ * to carts/cart_items in batches by the scheduled flush; several edits to one cart between flushes
+ * collapse into a single reconcile. Checkout reads the locked in-memory cart, not cart_items.
+ *
+ * The store is bounded softly: only carts with nothing left to flush are evicted, idle ones first.
+ *
+ * The store is per node and a flush replaces a cart's rows with that node's copy, so two nodes serving
+ * the same cart would overwrite each other's edits. Run a single node, or route every request for a
+ * cart to the same node (sticky on the cart id or its guest token / user).
+ */
+@Slf4j
+@Service
+public class CartEngine implements SmartLifecycle {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final CartWriter cartWriter;
+    private final CartJournal cartJournal;
+    private final ProductVariantRepository productVariantRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, CartState> carts = new ConcurrentHashMap<>();
+    // Ids of carts holding changes the database has not seen; updated with the cart's lock held
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    // One flush at a time, so two writers never reconcile the same cart concurrently
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Saves a database round trip per edit for variants that were checked recently
+    private final Cache<Long, Boolean> activeVariants;
+
+    @Value("${cart.store.max-carts:100000}")
+    private int maxCarts;
+
+    @Value("${cart.store.idle-timeout:30m}")
+    private Duration idleTimeout;
+
+    @Value("${cart.flush.batch-size:200}")
+    private int flushBatchSize;
+
+    @Value("${cart.max-lines:50}")
+    private int maxLines;
+
+    @Value("${cart.max-line-quantity:99}")
+    private int maxLineQuantity;
+
+    private volatile boolean running;
+
+    public CartEngine(CartWriter cartWriter, CartJournal cartJournal,
+            ProductVariantRepository productVariantRepository, TransactionTemplate transactionTemplate,
+            @Value("${cart.variant-check-ttl:5m}") Duration variantCheckTtl) {
+        this.cartWriter = cartWriter;
+        this.cartJournal = cartJournal;
+        this.productVariantRepository = productVariantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.activeVariants = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(variantCheckTtl)
+                .build();
+    }
+
+    public CartResponse createCart(Long userId) {
+        log.trace("CartEngine::createCart - Execution started. [userId: {}]", userId);
+        String guestToken = userId == null ? HexFormat.of().formatHex(randomBytes()) : null;
+        CartState cart = transactionTemplate.execute(status -> cartWriter.create(userId, guestToken));
+        carts.put(cart.id(), cart);
+        CartResponse response = toResponse(snapshotOf(cart));
+        response.setGuestToken(guestToken);
+        log.trace("CartEngine::createCart - Execution completed. [cartId: {}]", cart.id());
+        return response;
+    }
+
+    public CartResponse getCart(Long cartId, Long userId, String guestToken) {
+        return toResponse(snapshotOf(authorizedCart(cartId, userId, guestToken)));
+    }
+
+    public CartResponse setQuantity(Long cartId, Long userId, String guestToken, Long variantId, int quantity) {
+        log.trace("CartEngine::setQuantity - Execution started. [cartId: {}, variantId: {}]", cartId, variantId);
+        if (quantity < 0 || quantity > maxLineQuantity) {
+            throw new BusinessException("Quantity must be between 0 and " + maxLineQuantity);
+        }
+        if (quantity > 0) {
+            requireActiveVariant(variantId);
+        }
+        while (true) {
+            CartState cart = authorizedCart(cartId, userId, guestToken);
+            cart.lock().lock();
+            try {
+                if (cart.isRetired()) {
+                    continue;
+                }
+                if (quantity > 0 && !cart.hasLine(variantId) && cart.lineCount() >= maxLines) {
+                    throw new BusinessException("A cart can hold at most " + maxLines + " items");
+                }
+                if (cart.wouldChange(variantId, quantity)) {
+                    Instant now = Instant.now();
+                    cartJournal.append(CartJournal.SET_LINE, cartId, variantId, quantity, () -> {
+                        cart.setLine(variantId, quantity, now);
+                        dirtyIds.add(cartId);
+                    });
+                }
+                log.trace("CartEngine::setQuantity - Execution completed. [cartId: {}]", cartId);
+                return toResponse(cart.snapshot());
+            } finally {
+                cart.lock().unlock();
+            }
+        }
+    }
+
+    public CartResponse clear(Long cartId, Long userId, String guestToken) {
+        log.trace("CartEngine::clear - Execution started. [cartId: {}]", cartId);
+        while (true) {
+            CartState cart = authorizedCart(cartId, userId, guestToken);
+            cart.lock().lock();
+            try {
+                if (cart.isRetired()) {
+                    continue;
+                }
+                if (cart.lineCount() > 0) {
+                    Instant now = Instant.now();
+                    cartJournal.append(CartJournal.CLEAR, cartId, 0, 0, () -> {
+                        cart.clear(now);
+                        dirtyIds.add(cartId);
+                    });
+                }
+                log.trace("CartEngine::clear - Execution completed. [cartId: {}]", cartId);
+                return toResponse(cart.snapshot());
+            } finally {
+                cart.lock().unlock();
+            }
+        }
+    }
+
+    /*
+     * Runs placeOrder on the cart's contents with the cart locked, so edits and a second checkout of
+     * the same cart wait, and empties the cart once it returns. placeOrder is expected to commit its
+     * own transaction; if it throws the cart is left as it was.
+     */
+    public <T> T checkout(Long cartId, Long userId, String guestToken, Function<CartResponse, T> placeOrder) {
+        log.trace("CartEngine::checkout - Execution started. [cartId: {}]", cartId);
+        while (true) {
+            CartState cart = authorizedCart(cartId, userId, guestToken);
+            cart.lock().lock();
+            try {
+                if (cart.isRetired()) {
+                    continue;
+                }
+                if (cart.lineCount() == 0) {
+                    throw new BusinessException("Cart is empty: " + cartId);
+                }
+                T result = placeOrder.apply(toResponse(cart.snapshot()));
+                Instant now = Instant.now();
+                cartJournal.append(CartJournal.CLEAR, cartId, 0, 0, () -> {
+                    cart.clear(now);
+                    dirtyIds.add(cartId);
+                });
+                log.trace("CartEngine::checkout - Execution completed. [cartId: {}]", cartId);
+                return result;
+            } finally {
+                cart.lock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.flush.interval-ms:2000}")
+    public void flushDirty() {
+        if (!running) {
+            return;
+        }
+        long sealed = cartJournal.roll();
+        List<CartState> dirty = new ArrayList<>(dirtyIds.size());
+        for (Long cartId : dirtyIds) {
+            CartState cart = carts.get(cartId);
+            if (cart != null) {
+                dirty.add(cart);
+            }
+        }
+        if (flush(dirty)) {
+            cartJournal.deleteUpTo(sealed);
+        }
+        evict();
+    }
+
+    @Override
+    public void start() {
+        List<CartJournal.Record> records = cartJournal.recover();
+        long recovered = cartJournal.lastSegment();
+        cartJournal.open();
+        if (!records.isEmpty()) {
+            replay(records);
+        }
+        running = true;
+        if (flush(new ArrayList<>(dirtyIdsAsCarts()))) {
+            cartJournal.deleteUpTo(recovered);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long sealed = cartJournal.roll();
+        if (flush(new ArrayList<>(dirtyIdsAsCarts()))) {
+            cartJournal.deleteUpTo(sealed);
+        }
+        cartJournal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Starts before and stops after the web server, so no request sees a half-recovered store
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void replay(List<CartJournal.Record> records) {
+        Map<Long, List<CartJournal.Record>> byCart = new LinkedHashMap<>();
+        records.forEach(record -> byCart.computeIfAbsent(record.cartId(), id -> new ArrayList<>()).add(record));
+        Instant now = Instant.now();
+        byCart.forEach((cartId, cartRecords) -> {
+            CartState cart = cartOf(cartId);
+            if (cart == null) {
+                log.warn("CartEngine::replay - Skipping journal records of missing cart. [cartId: {}]", cartId);
+                return;
+            }
+            cart.lock().lock();
+            try {
+                for (CartJournal.Record record : cartRecords) {
+                    if (record.type() == CartJournal.CLEAR) {
+                        cart.clear(now);
+                    } else {
+                        cart.setLine(record.variantId(), record.quantity(), now);
+                    }
+                }
+                dirtyIds.add(cartId);
+            } finally {
+                cart.lock().unlock();
+            }
+        });
+        log.info("CartEngine::replay - Replayed {} journal records for {} carts.", records.size(), byCart.size());
+    }
+
+    private boolean flush(List<CartState> dirty) {
+        if (dirty.isEmpty()) {
+            return true;
+        }
+        flushLock.lock();
+        try {
+            boolean complete = true;
+            for (int from = 0; from < dirty.size(); from += flushBatchSize) {
+                List<CartState> batch = dirty.subList(from, Math.min(from + flushBatchSize, dirty.size()));
+                List<CartState.Snapshot> snapshots = batch.stream().map(CartEngine::snapshotOf).toList();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> cartWriter.write(snapshots));
+                } catch (Exception e) {
+                    log.error("CartEngine::flush - Execution failed. [carts: {}]", snapshots.size(), e);
+                    complete = false;
+                    continue;
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    CartState cart = batch.get(i);
+                    cart.lock().lock();
+                    try {
+                        if (cart.markFlushed(snapshots.get(i).version())) {
+                            dirtyIds.remove(cart.id());
+                        }
+                    } finally {
+                        cart.lock().unlock();
+                    }
+                }
+            }
+            return complete;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evict() {
+        long idleNanos = idleTimeout.toNanos();
+        long now = System.nanoTime();
+        carts.values().removeIf(cart -> now - cart.lastAccessNanos() > idleNanos && retireIfClean(cart));
+        int excess = carts.size() - maxCarts;
+        if (excess <= 0) {
+            return;
+        }
+        List<CartState> oldest = carts.values().stream()
+                .sorted(Comparator.comparingLong(CartState::lastAccessNanos))
+                .toList();
+        for (CartState cart : oldest) {
+            if (excess <= 0) {
+                break;
+            }
+            if (retireIfClean(cart) && carts.remove(cart.id(), cart)) {
+                excess--;
+            }
+        }
+    }
+
+    private static boolean retireIfClean(CartState cart) {
+        cart.lock().lock();
+        try {
+            return cart.retireIfClean();
+        } finally {
+            cart.lock().unlock();
+        }
+    }
+
+    private static CartState.Snapshot snapshotOf(CartState cart) {
+        cart.lock().lock();
+        try {
+            return cart.snapshot();
+        } finally {
+            cart.lock().unlock();
+        }
+    }
+
+    private List<CartState> dirtyIdsAsCarts() {
+        return dirtyIds.stream().map(carts::get).filter(cart -> cart != null).toList();
+    }
+
+    private CartState authorizedCart(Long cartId, Long userId, String guestToken) {
+        CartState cart = cartOf(cartId);
+        if (cart == null || !canAccess(cart, userId, guestToken)) {
+            throw new BusinessException("Cart not found with id: " + cartId);
+        }
+        cart.touch();
+        return cart;
+    }
+
+    // Loads outside any map lock so a slow query never blocks other carts
+    private CartState cartOf(long cartId) {
+        CartState cart = carts.get(cartId);
+        if (cart != null) {
+            return cart;
+        }
+        CartState loaded = cartWriter.load(cartId);
+        if (loaded == null) {
+            return null;
+        }
+        CartState existing = carts.putIfAbsent(cartId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static boolean canAccess(CartState cart, Long userId, String guestToken) {
+        if (cart.userId() != null) {
+            return cart.userId().equals(userId);
+        }
+        return guestToken != null && cart.guestToken() != null && MessageDigest.isEqual(
+                cart.guestToken().getBytes(StandardCharsets.US_ASCII), guestToken.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void requireActiveVariant(Long variantId) {
+        if (activeVariants.getIfPresent(variantId) != null) {
+            return;
+        }
+        // Not Cache#get: that would run the query inside the cache's internal lock
+        if (!productVariantRepository.existsByIdAndStatus(variantId, Status.ACTIVE)) {
+            throw new BusinessException("Product variant not found with id: " + variantId);
+        }
+        activeVariants.put(variantId, Boolean.TRUE);
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static CartResponse toResponse(CartState.Snapshot snapshot) {
+        List<CartResponse.Item> items = new ArrayList<>(snapshot.lines().size());
+        int totalQuantity = 0;
+        for (Map.Entry<Long, Integer> line : snapshot.lines().entrySet()) {
+            items.add(CartResponse.Item.builder().variantId(line.getKey()).quantity(line.getValue()).build());
+            totalQuantity += line.getValue();
+        }
+        return CartResponse.builder()
+                .id(snapshot.cartId())
+                .userId(snapshot.userId())
+                .items(items)
+                .totalQuantity(totalQuantity)
+                .version(snapshot.version())
+                .updatedAt(snapshot.updatedAt())
+                .build();
+    }
+}
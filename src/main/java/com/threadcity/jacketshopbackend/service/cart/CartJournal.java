@@ -0,0 +1,248 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Append-only log of cart mutations that have not reached the database yet. Records carry absolute
+ * quantities, so replaying a segment over rows that were already flushed is harmless. The log is
+ * split into numbered segments: a flush cycle rolls to a new segment first and deletes the sealed
+ * ones once every dirty cart has been written.
+ *
+ * Record layout: type (1) | cartId (8) | variantId (8) | quantity (4) | crc32 of the preceding 21 bytes (4)
+ */
+@Slf4j
+@Component
+class CartJournal {
+
+    static final byte SET_LINE = 1;
+    static final byte CLEAR = 2;
+
+    private static final int PAYLOAD_BYTES = 1 + 8 + 8 + 4;
+    private static final int RECORD_BYTES = PAYLOAD_BYTES + 4;
+    private static final String PREFIX = "cart-";
+    private static final String SUFFIX = ".journal";
+
+    @Value("${cart.journal.dir:data/cart-journal}")
+    private Path dir;
+
+    // Off by default: the periodic force below bounds the loss window instead of paying an fsync per edit
+    @Value("${cart.journal.force-on-write:false}")
+    private boolean forceOnWrite;
+
+    // Appends share the read lock so a roll never separates a record from the in-memory change it describes
+    private final ReentrantReadWriteLock rollLock = new ReentrantReadWriteLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private long segment;
+    private volatile boolean unforced;
+
+    // Reads every segment left on disk, oldest first, stopping at the first torn or corrupt record of each
+    List<Record> recover() {
+        List<Record> records = new ArrayList<>();
+        try {
+            Files.createDirectories(dir);
+            for (long number : segments()) {
+                readSegment(pathOf(number), records);
+                segment = Math.max(segment, number);
+            }
+        } catch (IOException e) {
+            log.error("CartJournal::recover - Execution failed. [dir: {}]", dir, e);
+            throw new BusinessException("CartJournal::recover - Execution failed.");
+        }
+        return records;
+    }
+
+    long lastSegment() {
+        return segment;
+    }
+
+    void open() {
+        writeLock.lock();
+        try {
+            openSegment(segment + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void append(byte type, long cartId, long variantId, int quantity, Runnable apply) {
+        rollLock.readLock().lock();
+        try {
+            writeLock.lock();
+            try {
+                buffer.clear();
+                buffer.put(type).putLong(cartId).putLong(variantId).putInt(quantity);
+                crc.reset();
+                crc.update(buffer.array(), 0, PAYLOAD_BYTES);
+                buffer.putInt((int) crc.getValue());
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (forceOnWrite) {
+                    channel.force(false);
+                } else {
+                    unforced = true;
+                }
+            } catch (IOException e) {
+                log.error("CartJournal::append - Execution failed. [cartId: {}]", cartId, e);
+                throw new BusinessException("CartJournal::append - Execution failed.");
+            } finally {
+                writeLock.unlock();
+            }
+            apply.run();
+        } finally {
+            rollLock.readLock().unlock();
+        }
+    }
+
+    // Seals the current segment and returns its number; later appends go to a fresh one
+    long roll() {
+        rollLock.writeLock().lock();
+        writeLock.lock();
+        try {
+            long sealed = segment;
+            closeChannel();
+            openSegment(sealed + 1);
+            return sealed;
+        } finally {
+            writeLock.unlock();
+            rollLock.writeLock().unlock();
+        }
+    }
+
+    void deleteUpTo(long sealed) {
+        try {
+            for (long number : segments()) {
+                if (number <= sealed) {
+                    Files.deleteIfExists(pathOf(number));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("CartJournal::deleteUpTo - Could not delete sealed segments. [upTo: {}]", sealed, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.journal.force-interval-ms:50}")
+    public void force() {
+        if (!unforced) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (channel != null) {
+                unforced = false;
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("CartJournal::force - Execution failed.", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void close() {
+        writeLock.lock();
+        try {
+            closeChannel();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void openSegment(long number) {
+        try {
+            channel = FileChannel.open(pathOf(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            segment = number;
+        } catch (IOException e) {
+            log.error("CartJournal::openSegment - Execution failed. [segment: {}]", number, e);
+            throw new BusinessException("CartJournal::openSegment - Execution failed.");
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.error("CartJournal::closeChannel - Execution failed. [segment: {}]", segment, e);
+        }
+        channel = null;
+        unforced = false;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void readSegment(Path path, List<Record> records) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        CRC32 check = new CRC32();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (true) {
+                record.clear();
+                while (record.hasRemaining()) {
+                    if (in.read(record) < 0) {
+                        if (record.position() > 0) {
+                            log.warn("CartJournal::readSegment - Torn record at end of {}", path);
+                        }
+                        throw new EOFException();
+                    }
+                }
+                check.reset();
+                check.update(record.array(), 0, PAYLOAD_BYTES);
+                record.flip();
+                byte type = record.get();
+                long cartId = record.getLong();
+                long variantId = record.getLong();
+                int quantity = record.getInt();
+                if (record.getInt() != (int) check.getValue()) {
+                    log.warn("CartJournal::readSegment - Corrupt record in {}, ignoring the rest", path);
+                    return;
+                }
+                records.add(new Record(type, cartId, variantId, quantity));
+            }
+        } catch (EOFException e) {
+            // End of segment
+        }
+    }
+
+    private Path pathOf(long number) {
+        return dir.resolve(PREFIX + String.format("%012d", number) + SUFFIX);
+    }
+
+    record Record(byte type, long cartId, long variantId, int quantity) {
+    }
+}
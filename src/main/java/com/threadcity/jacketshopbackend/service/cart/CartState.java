@@ -0,0 +1,119 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory copy of one cart. Everything except the immutable identity runs with lock() held.
+final class CartState {
+
+    // A lock rather than the monitor: appends to the journal happen while it is held
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long id;
+    private final Long userId;
+    private final String guestToken;
+    private final Map<Long, Integer> lines;
+    private long version;
+    private long flushedVersion;
+    private Instant updatedAt;
+    private volatile long lastAccessNanos = System.nanoTime();
+    // Set once the store has dropped this instance, callers holding it must look the cart up again
+    private boolean retired;
+
+    CartState(long id, Long userId, String guestToken, Map<Long, Integer> lines, Instant updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.guestToken = guestToken;
+        this.lines = new LinkedHashMap<>(lines);
+        this.updatedAt = updatedAt;
+    }
+
+    long id() {
+        return id;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    String guestToken() {
+        return guestToken;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    int lineCount() {
+        return lines.size();
+    }
+
+    boolean hasLine(long variantId) {
+        return lines.containsKey(variantId);
+    }
+
+    boolean wouldChange(long variantId, int quantity) {
+        Integer current = lines.get(variantId);
+        return quantity == 0 ? current != null : current == null || current != quantity;
+    }
+
+    void setLine(long variantId, int quantity, Instant now) {
+        if (quantity == 0) {
+            lines.remove(variantId);
+        } else {
+            lines.put(variantId, quantity);
+        }
+        changed(now);
+    }
+
+    void clear(Instant now) {
+        lines.clear();
+        changed(now);
+    }
+
+    boolean isDirty() {
+        return version != flushedVersion;
+    }
+
+    // Returns true when nothing changed after the flushed snapshot was taken
+    boolean markFlushed(long snapshotVersion) {
+        flushedVersion = Math.max(flushedVersion, snapshotVersion);
+        return flushedVersion == version;
+    }
+
+    // Only clean carts can be dropped, their state is all in the database
+    boolean retireIfClean() {
+        if (isDirty()) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(id, userId, Collections.unmodifiableMap(new LinkedHashMap<>(lines)), version, updatedAt);
+    }
+
+    private void changed(Instant now) {
+        version++;
+        updatedAt = now;
+    }
+
+    record Snapshot(long cartId, Long userId, Map<Long, Integer> lines, long version, Instant updatedAt) {
+    }
+}
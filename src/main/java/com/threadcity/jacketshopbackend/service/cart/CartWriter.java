@@ -0,0 +1,136 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Cart;
+import com.threadcity.jacketshopbackend.entity.CartItem;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.entity.User;
+import com.threadcity.jacketshopbackend.repository.CartItemRepository;
+import com.threadcity.jacketshopbackend.repository.CartRepository;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Database side of the cart engine; callers provide the transaction
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class CartWriter {
+
+    // Keeps IN lists well under the SQL Server limit of 2100 parameters
+    private static final int ID_CHUNK = 1000;
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final EntityManager entityManager;
+
+    CartState create(Long userId, String guestToken) {
+        Instant now = Instant.now();
+        Cart cart = cartRepository.save(Cart.builder()
+                .user(userId == null ? null : entityManager.getReference(User.class, userId))
+                .guestToken(guestToken)
+                .status(Status.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        return new CartState(cart.getId(), userId, guestToken, Map.of(), now);
+    }
+
+    // Null when the cart does not exist or is no longer active
+    CartState load(long cartId) {
+        Cart cart = cartRepository.findById(cartId).orElse(null);
+        if (cart == null || cart.getStatus() != Status.ACTIVE) {
+            return null;
+        }
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        cartItemRepository.findLinesByCartId(cartId)
+                .forEach(line -> lines.merge(line.getVariantId(), line.getQuantity(), Integer::sum));
+        Long userId = cart.getUser() == null ? null : cart.getUser().getId();
+        return new CartState(cart.getId(), userId, cart.getGuestToken(), lines, cart.getUpdatedAt());
+    }
+
+    // Reconciles cart_items with each snapshot: inserts, quantity updates and deletes, all batched
+    void write(List<CartState.Snapshot> snapshots) {
+        Instant now = Instant.now();
+        List<Long> cartIds = snapshots.stream().map(CartState.Snapshot::cartId).toList();
+        Map<Long, Map<Long, CartItem>> existing = new HashMap<>();
+        for (List<Long> chunk : chunks(cartIds)) {
+            for (CartItem item : cartItemRepository.findByCartIdIn(chunk)) {
+                existing.computeIfAbsent(item.getCart().getId(), id -> new HashMap<>())
+                        .put(item.getProductVariant().getId(), item);
+            }
+        }
+
+        Set<Long> newVariantIds = new HashSet<>();
+        for (CartState.Snapshot snapshot : snapshots) {
+            Map<Long, CartItem> rows = existing.getOrDefault(snapshot.cartId(), Map.of());
+            snapshot.lines().keySet().stream().filter(id -> !rows.containsKey(id)).forEach(newVariantIds::add);
+        }
+        Set<Long> knownVariantIds = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(newVariantIds))) {
+            knownVariantIds.addAll(productVariantRepository.findExistingIds(chunk));
+        }
+
+        List<CartItem> inserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (CartState.Snapshot snapshot : snapshots) {
+            Map<Long, CartItem> rows = existing.getOrDefault(snapshot.cartId(), Map.of());
+            Cart cart = entityManager.getReference(Cart.class, snapshot.cartId());
+            snapshot.lines().forEach((variantId, quantity) -> {
+                CartItem row = rows.get(variantId);
+                if (row != null) {
+                    if (!row.getQuantity().equals(quantity)) {
+                        row.setQuantity(quantity);
+                        row.setUpdatedAt(now);
+                    }
+                } else if (knownVariantIds.contains(variantId)) {
+                    inserts.add(CartItem.builder()
+                            .cart(cart)
+                            .productVariant(entityManager.getReference(ProductVariant.class, variantId))
+                            .quantity(quantity)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build());
+                } else {
+                    log.warn("CartWriter::write - Dropping line for missing variant. [cartId: {}, variantId: {}]",
+                            snapshot.cartId(), variantId);
+                }
+            });
+            rows.forEach((variantId, row) -> {
+                if (!snapshot.lines().containsKey(variantId)) {
+                    deletes.add(row.getId());
+                }
+            });
+        }
+
+        cartItemRepository.saveAll(inserts);
+        for (List<Long> chunk : chunks(deletes)) {
+            cartItemRepository.deleteAllByIdInBatch(chunk);
+        }
+        for (List<Long> chunk : chunks(cartIds)) {
+            cartRepository.touch(chunk, now);
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+}
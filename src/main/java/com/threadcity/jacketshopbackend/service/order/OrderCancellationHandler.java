@@ -0,0 +1,59 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import com.threadcity.jacketshopbackend.repository.OrderRepository;
+import com.threadcity.jacketshopbackend.service.CouponService;
+import com.threadcity.jacketshopbackend.service.InventoryService;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxConsumptions;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxHandler;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Returns the stock and the coupon use of a cancelled order, once per cancellation
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCancellationHandler implements OutboxHandler<OrderStatusChanged> {
+
+    private final OrderRepository orderRepository;
+    private final InventoryService inventoryService;
+    private final CouponService couponService;
+    private final OutboxConsumptions outboxConsumptions;
+
+    @Override
+    public String eventType() {
+        return OrderStatusChanged.TYPE;
+    }
+
+    @Override
+    public Class<OrderStatusChanged> payloadType() {
+        return OrderStatusChanged.class;
+    }
+
+    @Override
+    public void handle(OutboxMessage message, OrderStatusChanged event) {
+        if (event.to() != OrderStatus.CANCELLED) {
+            return;
+        }
+        boolean applied = outboxConsumptions.runOnce(message, name(), () -> {
+            Map<Long, Integer> quantities = new TreeMap<>();
+            orderRepository.findLinesByOrderId(event.orderId())
+                    .forEach(line -> quantities.merge(line.getVariantId(), line.getQuantity(), Integer::sum));
+            if (!quantities.isEmpty()) {
+                inventoryService.incrementAll(quantities);
+            }
+            Long couponId = orderRepository.findCouponIdById(event.orderId());
+            if (couponId != null) {
+                couponService.release(couponId);
+            }
+        });
+        log.debug("OrderCancellationHandler::handle - [orderId: {}, applied: {}]", event.orderId(), applied);
+    }
+}
@@ -0,0 +1,89 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Snowflake-style order codes: 41 bits of milliseconds since EPOCH, 10 bits of node id and a 12 bit
+ * counter, written as 13 Crockford base32 digits after a prefix, e.g. OD0G8Z4KQ1M2000.
+ *
+ * Codes from one node are strictly increasing and nodes never collide as long as each has its own
+ * order-code.node-id, so no database round trip or retry is needed. Because the digits sort like the
+ * numbers, new codes land at the right-hand end of the unique index on orders.order_code instead of
+ * splitting pages all over it.
+ *
+ * Time and counter share one AtomicLong updated by CAS. When the counter runs out within a millisecond
+ * it carries into the next one, and a clock that steps back is ignored, so callers never wait.
+ */
+@Component
+public class OrderCodeGenerator {
+
+    public static final String PREFIX = "OD";
+    // 2025-01-01T00:00:00Z; 41 bits of milliseconds last until 2094
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final int CODE_LENGTH = PREFIX.length() + 13;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final byte[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    private final long node;
+    private final LongSupplier clock;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | counter of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    @Autowired
+    public OrderCodeGenerator(@Value("${order-code.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    OrderCodeGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("order-code.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    public String next() {
+        return format(nextId());
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            next = Math.max(prev + 1, now);
+        } while (!last.compareAndSet(prev, next));
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | node << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+
+    // Fixed width, so codes compare as strings the same way the ids compare as numbers
+    public static String format(long id) {
+        byte[] code = new byte[CODE_LENGTH];
+        for (int i = 0; i < PREFIX.length(); i++) {
+            code[i] = (byte) PREFIX.charAt(i);
+        }
+        for (int i = CODE_LENGTH - 1; i >= PREFIX.length(); i--) {
+            code[i] = DIGITS[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(code, StandardCharsets.US_ASCII);
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+}
@@ -0,0 +1,32 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.service.outbox.OutboxHandler;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxMessage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+// Order funnel for dashboards; a redelivered event is counted again, which is fine for a rate
+@Component
+@RequiredArgsConstructor
+public class OrderMetricsHandler implements OutboxHandler<OrderStatusChanged> {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public String eventType() {
+        return OrderStatusChanged.TYPE;
+    }
+
+    @Override
+    public Class<OrderStatusChanged> payloadType() {
+        return OrderStatusChanged.class;
+    }
+
+    @Override
+    public void handle(OutboxMessage message, OrderStatusChanged event) {
+        meterRegistry.counter("orders.status.changes", "to", event.to().name()).increment();
+    }
+}
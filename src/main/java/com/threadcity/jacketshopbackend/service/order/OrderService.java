@@ -0,0 +1,79 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import com.threadcity.jacketshopbackend.dto.response.StatusChangeResponse;
+import com.threadcity.jacketshopbackend.entity.Order;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.OrderRepository;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxPublisher;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Order status changes and the outbox events they emit, written in the same transaction. Everything
+ * that follows from a change (stock release, notifications, analytics) is an OutboxHandler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderService {
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = Map.of(
+            OrderStatus.PENDING, EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED),
+            OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.SHIPPING, OrderStatus.CANCELLED),
+            OrderStatus.SHIPPING, EnumSet.of(OrderStatus.COMPLETED),
+            OrderStatus.COMPLETED, EnumSet.noneOf(OrderStatus.class),
+            OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+    private final OrderRepository orderRepository;
+    private final OutboxPublisher outboxPublisher;
+
+    // Called by checkout in the transaction that inserts the order
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void orderPlaced(Order order) {
+        outboxPublisher.publish(OrderStatusChanged.AGGREGATE, order.getId(), OrderStatusChanged.TYPE,
+                new OrderStatusChanged(order.getId(), order.getOrderCode(), null, order.getStatus()));
+    }
+
+    @Transactional
+    public StatusChangeResponse changeStatus(Long orderId, OrderStatus to) {
+        log.trace("OrderService::changeStatus - Execution started. [orderId: {}, to: {}]", orderId, to);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException("Order not found with id: " + orderId));
+        OrderStatus from = order.getStatus();
+        if (!TRANSITIONS.get(from).contains(to)) {
+            throw new BusinessException("Cannot change order status from " + from + " to " + to);
+        }
+        Instant now = Instant.now();
+        if (orderRepository.transition(orderId, from, to, now) == 0) {
+            throw new BusinessException("Order status was changed concurrently: " + orderId);
+        }
+        outboxPublisher.publish(OrderStatusChanged.AGGREGATE, orderId, OrderStatusChanged.TYPE,
+                new OrderStatusChanged(orderId, order.getOrderCode(), from, to));
+        log.trace("OrderService::changeStatus - Execution completed. [orderId: {}]", orderId);
+        return StatusChangeResponse.builder()
+                .id(orderId)
+                .from(from.name())
+                .to(to.name())
+                .changedAt(now)
+                .build();
+    }
+
+    // For handlers: a no-op when the order has already moved past expected
+    @Transactional
+    public boolean changeStatusIf(Long orderId, OrderStatus expected, OrderStatus to) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException("Order not found with id: " + orderId));
+        if (order.getStatus() != expected) {
+            return false;
+        }
+        changeStatus(orderId, to);
+        return true;
+    }
+}
@@ -0,0 +1,10 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+
+// Outbox payload; from is null when the order has just been placed
+public record OrderStatusChanged(Long orderId, String orderCode, OrderStatus from, OrderStatus to) {
+
+    public static final String AGGREGATE = "ORDER";
+    public static final String TYPE = "ORDER_STATUS_CHANGED";
+}
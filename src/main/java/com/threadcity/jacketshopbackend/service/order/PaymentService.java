@@ -0,0 +1,51 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+import com.threadcity.jacketshopbackend.dto.response.StatusChangeResponse;
+import com.threadcity.jacketshopbackend.entity.Payment;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.PaymentRepository;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxPublisher;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentService {
+    private final PaymentRepository paymentRepository;
+    private final OutboxPublisher outboxPublisher;
+
+    // Only a pending payment can settle; gateways that call back twice get an error the second time
+    @Transactional
+    public StatusChangeResponse changeStatus(Long paymentId, PaymentStatus to, String transactionId,
+            String failureReason) {
+        log.trace("PaymentService::changeStatus - Execution started. [paymentId: {}, to: {}]", paymentId, to);
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new BusinessException("Payment not found with id: " + paymentId));
+        PaymentStatus from = payment.getStatus();
+        if (from != PaymentStatus.PENDING || to == PaymentStatus.PENDING) {
+            throw new BusinessException("Cannot change payment status from " + from + " to " + to);
+        }
+        Instant now = Instant.now();
+        Instant paidAt = to == PaymentStatus.SUCCESS ? now : null;
+        String reason = to == PaymentStatus.FAILED ? failureReason : null;
+        if (paymentRepository.transition(paymentId, from, to, transactionId, reason, paidAt, now) == 0) {
+            throw new BusinessException("Payment status was changed concurrently: " + paymentId);
+        }
+        Long orderId = payment.getOrder().getId();
+        outboxPublisher.publish(PaymentStatusChanged.AGGREGATE, paymentId, PaymentStatusChanged.TYPE,
+                new PaymentStatusChanged(paymentId, orderId, from, to));
+        log.trace("PaymentService::changeStatus - Execution completed. [paymentId: {}]", paymentId);
+        return StatusChangeResponse.builder()
+                .id(paymentId)
+                .from(from.name())
+                .to(to.name())
+                .changedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxHandler;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxMessage;
+
+import lombok.RequiredArgsConstructor;
+
+// Confirms a pending order once its payment succeeded; a redelivery finds the order confirmed and stops
+@Component
+@RequiredArgsConstructor
+public class PaymentSettlementHandler implements OutboxHandler<PaymentStatusChanged> {
+
+    private final OrderService orderService;
+
+    @Override
+    public String eventType() {
+        return PaymentStatusChanged.TYPE;
+    }
+
+    @Override
+    public Class<PaymentStatusChanged> payloadType() {
+        return PaymentStatusChanged.class;
+    }
+
+    @Override
+    public void handle(OutboxMessage message, PaymentStatusChanged event) {
+        if (event.to() == PaymentStatus.SUCCESS) {
+            orderService.changeStatusIf(event.orderId(), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import com.threadcity.jacketshopbackend.common.Enums.PaymentStatus;
+
+// Outbox payload
+public record PaymentStatusChanged(Long paymentId, Long orderId, PaymentStatus from, PaymentStatus to) {
+
+    public static final String AGGREGATE = "PAYMENT";
+    public static final String TYPE = "PAYMENT_STATUS_CHANGED";
+}
@@ -0,0 +1,41 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Idempotent consumer: the consumption row and the handler's own writes commit together, so a
+ * redelivered event finds the row and is skipped. The row is inserted first, which also makes a
+ * concurrent duplicate delivery wait on its key until the first one has committed or rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxConsumptions {
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_consumptions (consumption_key, event_id, consumed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Returns false when the handler had already applied this event
+    public boolean runOnce(OutboxMessage message, String handler, Runnable action) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            try {
+                jdbcTemplate.update(INSERT_SQL, message.id() + ":" + handler, message.id(),
+                        OffsetDateTime.now(ZoneOffset.UTC));
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+            action.run();
+            return true;
+        });
+        return Boolean.TRUE.equals(applied);
+    }
+}
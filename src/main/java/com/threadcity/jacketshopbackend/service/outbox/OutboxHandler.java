@@ -0,0 +1,21 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+/*
+ * Side effect of an outbox event, run by OutboxRelay on its worker pool after the writing transaction
+ * has committed. Delivery is at least once: an event is retried, with every handler of its type, when
+ * any of them throws or the node dies mid-delivery. Handlers therefore have to be idempotent, either
+ * by nature or through OutboxConsumptions#runOnce. Events of one aggregate may be handled in any order.
+ */
+public interface OutboxHandler<T> {
+
+    String eventType();
+
+    Class<T> payloadType();
+
+    void handle(OutboxMessage message, T payload) throws Exception;
+
+    // Used in metrics and as the de-duplication key of runOnce
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,15 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+import java.time.Instant;
+
+import com.threadcity.jacketshopbackend.entity.OutboxEvent;
+
+// What a handler sees of an outbox row; attempts counts earlier deliveries that failed
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+        int attempts, Instant createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getAttempts(), event.getCreatedAt());
+    }
+}
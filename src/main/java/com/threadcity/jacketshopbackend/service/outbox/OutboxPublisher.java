@@ -0,0 +1,69 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+import java.time.Instant;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadcity.jacketshopbackend.entity.OutboxEvent;
+import com.threadcity.jacketshopbackend.event.OutboxWrittenEvent;
+import com.threadcity.jacketshopbackend.repository.OutboxEventRepository;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Records an event in the caller's transaction, so it is stored exactly when the change it describes
+ * is. The insert joins the transaction's JDBC batch; nothing else runs on the request path.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publish(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        Instant now = Instant.now();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize outbox payload of " + eventType, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .availableAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.count++;
+    }
+
+    private final class Pending implements TransactionSynchronization {
+        private int count;
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxPublisher.this);
+            if (status == STATUS_COMMITTED) {
+                eventPublisher.publishEvent(new OutboxWrittenEvent(count));
+            }
+        }
+    }
+}
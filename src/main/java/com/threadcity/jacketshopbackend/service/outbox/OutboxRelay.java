@@ -0,0 +1,310 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadcity.jacketshopbackend.common.Enums.OutboxStatus;
+import com.threadcity.jacketshopbackend.entity.OutboxEvent;
+import com.threadcity.jacketshopbackend.event.OutboxWrittenEvent;
+import com.threadcity.jacketshopbackend.repository.OutboxConsumptionRepository;
+import com.threadcity.jacketshopbackend.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Delivers outbox events to their OutboxHandlers off the request path. One relay thread per node:
+ *
+ *  1. claims up to batch-size due events in a short transaction: the rows are locked with READPAST,
+ *     so relays on other nodes skip them, and leased by moving availableAt lease-duration ahead;
+ *  2. runs them on a fixed pool of worker threads and waits for the batch, so at most one batch is
+ *     ever queued and a slow handler cannot make the relay claim more than it can run;
+ *  3. marks the delivered events in one statement and pushes failed ones back with exponential
+ *     backoff, until max-attempts is reached and they are parked as FAILED.
+ *
+ * A relay that dies after claiming loses nothing: its lease expires and the events are claimed again.
+ * Between batches the thread sleeps for poll-interval, or until a commit that wrote events wakes it.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConsumptionRepository outboxConsumptionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<OutboxHandler<?>>> handlers = new HashMap<>();
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.workers:4}")
+    private int workers;
+
+    @Value("${outbox.relay.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${outbox.relay.lease-duration:60s}")
+    private Duration leaseDuration;
+
+    @Value("${outbox.retry.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${outbox.retry.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    @Value("${outbox.retention:7d}")
+    private Duration retention;
+
+    private ThreadPoolExecutor executor;
+    private Thread relayThread;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            OutboxConsumptionRepository outboxConsumptionRepository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry, List<OutboxHandler<?>> handlers) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxConsumptionRepository = outboxConsumptionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        handlers.forEach(handler -> this.handlers
+                .computeIfAbsent(handler.eventType(), type -> new ArrayList<>()).add(handler));
+        meterRegistry.gauge("outbox.relay.in_flight", inFlight);
+        meterRegistry.gauge("outbox.backlog", backlog);
+    }
+
+    @EventListener
+    public void onOutboxWritten(OutboxWrittenEvent event) {
+        wakeUp.release();
+    }
+
+    // Claims and delivers one batch, returns how many events it claimed
+    public int relayOnce() {
+        Instant now = Instant.now();
+        // At the column's precision, so recording the outcome can match the lease exactly
+        Instant leaseUntil = now.plus(leaseDuration).truncatedTo(ChronoUnit.MICROS);
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.lockDue(batchSize, now);
+            if (!due.isEmpty()) {
+                outboxEventRepository.claim(due.stream().map(OutboxEvent::getId).toList(),
+                        OutboxStatus.PROCESSING, leaseUntil, now);
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        meterRegistry.counter("outbox.events.claimed").increment(batch.size());
+
+        List<OutboxMessage> messages = batch.stream().map(OutboxMessage::of).toList();
+        List<Future<?>> results = new ArrayList<>(messages.size());
+        inFlight.addAndGet(messages.size());
+        for (OutboxMessage message : messages) {
+            results.add(executor.submit(() -> {
+                try {
+                    deliver(message);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return null;
+            }));
+        }
+        // Whatever is still running once the lease is over will be delivered again elsewhere anyway
+        long deadline = System.nanoTime() + leaseDuration.toNanos();
+        List<Long> delivered = new ArrayList<>(messages.size());
+        Map<OutboxMessage, String> failed = new HashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            try {
+                results.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(message.id());
+            } catch (ExecutionException e) {
+                failed.put(message, describe(e.getCause()));
+            } catch (TimeoutException e) {
+                results.get(i).cancel(true);
+                failed.put(message, "Delivery did not finish within the lease");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.put(message, "Relay stopped during delivery");
+            }
+        }
+        record(messages, leaseUntil, delivered, failed);
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:60000}")
+    public void purge() {
+        if (!running) {
+            return;
+        }
+        Instant before = Instant.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.purge(OutboxStatus.DELIVERED, before)
+                        + outboxConsumptionRepository.purge(before));
+        backlog.set(outboxEventRepository.countByStatusIn(List.of(OutboxStatus.PENDING, OutboxStatus.PROCESSING)));
+        if (purged != null && purged > 0) {
+            log.info("OutboxRelay::purge - Purged {} delivered outbox rows.", purged);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger workerIds = new AtomicInteger();
+        // The relay waits for each batch, so the queue never holds more than one batch
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-worker-" + workerIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        running = true;
+        relayThread = new Thread(this::run, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp.release();
+        try {
+            relayThread.join(leaseDuration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            int claimed;
+            try {
+                claimed = relayOnce();
+            } catch (Exception e) {
+                log.error("OutboxRelay::run - Execution failed.", e);
+                claimed = 0;
+            }
+            if (claimed < batchSize) {
+                try {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(OutboxMessage message) throws Exception {
+        for (OutboxHandler<?> handler : handlers.getOrDefault(message.eventType(), List.of())) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                invoke(handler, message);
+                outcome = "success";
+            } finally {
+                sample.stop(meterRegistry.timer("outbox.handler.duration",
+                        "handler", handler.name(), "outcome", outcome));
+            }
+        }
+    }
+
+    private <T> void invoke(OutboxHandler<T> handler, OutboxMessage message) throws Exception {
+        handler.handle(message, objectMapper.readValue(message.payload(), handler.payloadType()));
+    }
+
+    private void record(List<OutboxMessage> messages, Instant leaseUntil, List<Long> delivered,
+            Map<OutboxMessage, String> failed) {
+        Instant now = Instant.now();
+        Integer recorded = transactionTemplate.execute(status -> {
+            int rows = delivered.isEmpty() ? 0 : outboxEventRepository.markDelivered(delivered,
+                    OutboxStatus.DELIVERED, OutboxStatus.PROCESSING, leaseUntil, now);
+            for (Map.Entry<OutboxMessage, String> entry : failed.entrySet()) {
+                int attempts = entry.getKey().attempts() + 1;
+                boolean dead = attempts >= maxAttempts;
+                rows += outboxEventRepository.markFailed(entry.getKey().id(),
+                        dead ? OutboxStatus.FAILED : OutboxStatus.PENDING, OutboxStatus.PROCESSING, leaseUntil,
+                        dead ? now : now.plus(backoff(attempts)), entry.getValue(), now);
+            }
+            return rows;
+        });
+        if (recorded != null && recorded < messages.size()) {
+            // Their lease ran out and another relay claimed them, its outcome is the one that counts
+            log.warn("OutboxRelay::record - Lease lost before recording. [events: {}, recorded: {}]",
+                    messages.size(), recorded);
+        }
+        for (OutboxMessage message : messages) {
+            String error = failed.get(message);
+            String outcome = error == null ? "delivered" : message.attempts() + 1 >= maxAttempts ? "dead" : "retry";
+            meterRegistry.counter("outbox.deliveries", "event_type", message.eventType(), "outcome", outcome)
+                    .increment();
+            if (error == null) {
+                meterRegistry.timer("outbox.delivery.lag", "event_type", message.eventType())
+                        .record(Duration.between(message.createdAt(), now));
+            } else {
+                log.warn("OutboxRelay::record - Delivery failed. [eventId: {}, type: {}, attempt: {}, outcome: {}, error: {}]",
+                        message.id(), message.eventType(), message.attempts() + 1, outcome, error);
+            }
+        }
+    }
+
+    // initial * 2^(attempts - 1), capped, with +-20% jitter so failed batches do not retry in lockstep
+    private Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        millis = Math.min(millis <= 0 ? Long.MAX_VALUE : millis, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,93 @@
+package com.threadcity.jacketshopbackend.service.pricing;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.threadcity.jacketshopbackend.common.Enums.CouponType;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+
+/*
+ * Cart and order arithmetic on longs. Amounts are minor units at the scale of the money columns
+ * (numeric(12,2)), so 1 VND is 100 units and every stored value converts exactly; BigDecimal is
+ * only used by toMinor/toAmount at the persistence and JSON boundary.
+ *
+ * Results match the BigDecimal rules they replace: percent discounts round down to whole VND,
+ * are capped by maxDiscount and never exceed the order value.
+ */
+@Component
+public class PricingEngine {
+
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+    // orderValue(units) * percent(units) / (100% * units per VND * units per percent point)
+    private static final long PERCENT_DIVISOR = 100 * MINOR_PER_MAJOR * MINOR_PER_MAJOR;
+
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount has more than " + SCALE + " decimals or is too large: " + amount);
+        }
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public long subtotal(long[] unitPrices, int[] quantities, int lineCount) {
+        long subtotal = 0;
+        for (int i = 0; i < lineCount; i++) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(unitPrices[i], quantities[i]));
+        }
+        return subtotal;
+    }
+
+    public long discount(CouponTerms coupon, long orderValue) {
+        if (coupon == null || orderValue <= 0) {
+            return 0;
+        }
+        long discount = coupon.type() == CouponType.PERCENT
+                ? percentOf(orderValue, coupon.value())
+                : coupon.value();
+        if (coupon.maxDiscount() >= 0) {
+            discount = Math.min(discount, coupon.maxDiscount());
+        }
+        return Math.min(discount, orderValue);
+    }
+
+    public Totals totals(long[] unitPrices, int[] quantities, int lineCount, long shippingFee, CouponTerms coupon) {
+        long subtotal = subtotal(unitPrices, quantities, lineCount);
+        long discount = discount(coupon, subtotal);
+        return new Totals(subtotal, discount, shippingFee, Math.addExact(subtotal - discount, shippingFee));
+    }
+
+    // Rounded down to whole VND like divide(100, 0, RoundingMode.DOWN) on the BigDecimal path
+    private static long percentOf(long orderValue, long percent) {
+        long high = Math.multiplyHigh(orderValue, percent);
+        long product = orderValue * percent;
+        long wholeVnd = high == 0 && product >= 0
+                ? product / PERCENT_DIVISOR
+                : BigInteger.valueOf(orderValue).multiply(BigInteger.valueOf(percent))
+                        .divide(BigInteger.valueOf(PERCENT_DIVISOR)).longValueExact();
+        return wholeVnd * MINOR_PER_MAJOR;
+    }
+
+    // value is an amount in minor units for AMOUNT coupons, a percentage scaled the same way for PERCENT
+    public record CouponTerms(CouponType type, long value, long maxDiscount) {
+
+        public static CouponTerms of(Coupon coupon) {
+            return new CouponTerms(coupon.getType(), toMinor(coupon.getValue()),
+                    coupon.getMaxDiscount() == null ? -1 : toMinor(coupon.getMaxDiscount()));
+        }
+    }
+
+    public record Totals(long subtotal, long discount, long shippingFee, long total) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.threadcity.jacketshopbackend.service.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Inverted index over ACTIVE products. Every product owns a dense slot, and terms and facet values map
+ * to bitsets over those slots, so a query is a handful of word-wise ANDs and a facet count is one
+ * popcount loop per value. Slots of removed products are reused. Queries share a read lock, updates
+ * take the write lock.
+ */
+final class CatalogSearchIndex {
+
+    enum Facet {
+        CATEGORY, BRAND, MATERIAL, STYLE, SIZE, COLOR
+    }
+
+    record Document(long productId, String name, String description, Map<Facet, Set<Long>> facetValues) {
+    }
+
+    record Hit(long productId, String name) {
+    }
+
+    record Result(int total, List<Hit> hits, Map<Facet, Map<Long, Long>> facetCounts) {
+    }
+
+    private record Entry(long productId, String name, Set<String> terms, Set<String> nameTerms,
+            Map<Facet, Set<Long>> facetValues) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotByProduct = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private Entry[] entries = new Entry[1024];
+    private int nextSlot;
+
+    private final DocBitSet live = new DocBitSet();
+    // Name and description terms, and name terms alone for ranking and autocomplete
+    private final NavigableMap<String, DocBitSet> terms = new TreeMap<>();
+    private final NavigableMap<String, DocBitSet> nameTerms = new TreeMap<>();
+    private final Map<Facet, Map<Long, DocBitSet>> facets = new EnumMap<>(Facet.class);
+
+    CatalogSearchIndex() {
+        for (Facet facet : Facet.values()) {
+            facets.put(facet, new HashMap<>());
+        }
+    }
+
+    void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.productId());
+            addLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // All query terms must match, the last one as a prefix when asked. Filters OR within a facet, AND across.
+    Result search(String text, boolean lastTermAsPrefix, Map<Facet, Set<Long>> filters, int limit) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        lock.readLock().lock();
+        try {
+            DocBitSet result = live.copy();
+            DocBitSet inName = tokens.isEmpty() ? null : live.copy();
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = lastTermAsPrefix && i == tokens.size() - 1;
+                result.and(postings(terms, tokens.get(i), prefix));
+                inName.and(postings(nameTerms, tokens.get(i), prefix));
+            }
+            filters.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    DocBitSet allowed = new DocBitSet();
+                    for (Long value : values) {
+                        DocBitSet bits = facets.get(facet).get(value);
+                        if (bits != null) {
+                            allowed.or(bits);
+                        }
+                    }
+                    result.and(allowed);
+                }
+            });
+
+            List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+            if (inName != null) {
+                // Products matching on the name come first
+                inName.and(result);
+                collect(inName, null, hits, limit);
+            }
+            collect(result, inName, hits, limit);
+
+            // Only the words holding matches are scanned, once per facet value
+            int[] matchWords = result.nonZeroWords();
+            Map<Facet, Map<Long, Long>> facetCounts = new EnumMap<>(Facet.class);
+            facets.forEach((facet, values) -> {
+                Map<Long, Long> counts = new HashMap<>();
+                values.forEach((value, bits) -> {
+                    int count = DocBitSet.intersectionCount(result, bits, matchWords);
+                    if (count > 0) {
+                        counts.put(value, (long) count);
+                    }
+                });
+                facetCounts.put(facet, counts);
+            });
+            return new Result(result.cardinality(), hits, facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Completes the last word of the input from product names, most frequent first
+    List<String> suggest(String input, int limit) {
+        List<String> tokens = TextTokenizer.tokenize(input);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String last = tokens.get(tokens.size() - 1);
+        String head = String.join(" ", tokens.subList(0, tokens.size() - 1));
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            prefixRange(nameTerms, last).forEach((term, bits) -> frequencies.put(term, bits.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return frequencies.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> head.isEmpty() ? e.getKey() : head + " " + e.getKey())
+                .toList();
+    }
+
+    private void addLocked(Document document) {
+        int slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+        if (slot >= entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        Set<String> name = new HashSet<>(TextTokenizer.tokenize(document.name()));
+        Set<String> all = new HashSet<>(name);
+        all.addAll(TextTokenizer.tokenize(document.description()));
+        for (String term : all) {
+            terms.computeIfAbsent(term, t -> new DocBitSet()).set(slot);
+        }
+        for (String term : name) {
+            nameTerms.computeIfAbsent(term, t -> new DocBitSet()).set(slot);
+        }
+        document.facetValues().forEach((facet, values) -> {
+            for (Long value : values) {
+                facets.get(facet).computeIfAbsent(value, v -> new DocBitSet()).set(slot);
+            }
+        });
+        live.set(slot);
+        slotByProduct.put(document.productId(), slot);
+        entries[slot] = new Entry(document.productId(), document.name(), all, name, document.facetValues());
+    }
+
+    private void removeLocked(long productId) {
+        Integer slot = slotByProduct.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        Entry entry = entries[slot];
+        entry.terms().forEach(term -> clear(terms, term, slot));
+        entry.nameTerms().forEach(term -> clear(nameTerms, term, slot));
+        entry.facetValues().forEach((facet, values) -> values.forEach(value -> clear(facets.get(facet), value, slot)));
+        live.clear(slot);
+        entries[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    // Drops postings that become empty so autocomplete never offers terms without products
+    private static <K> void clear(Map<K, DocBitSet> postings, K key, int slot) {
+        DocBitSet bits = postings.get(key);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static DocBitSet postings(NavigableMap<String, DocBitSet> index, String token, boolean prefix) {
+        if (!prefix) {
+            DocBitSet bits = index.get(token);
+            return bits == null ? new DocBitSet() : bits;
+        }
+        DocBitSet union = new DocBitSet();
+        prefixRange(index, token).values().forEach(union::or);
+        return union;
+    }
+
+    private static NavigableMap<String, DocBitSet> prefixRange(NavigableMap<String, DocBitSet> index,
+            String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void collect(DocBitSet bits, DocBitSet skip, List<Hit> hits, int limit) {
+        for (int slot = bits.nextSetBit(0); slot >= 0 && hits.size() < limit; slot = bits.nextSetBit(slot + 1)) {
+            if (skip == null || !skip.get(slot)) {
+                Entry entry = entries[slot];
+                hits.add(new Hit(entry.productId(), entry.name()));
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.threadcity.jacketshopbackend.service.search;
+
+import java.util.Arrays;
+
+/*
+ * Bitset over document slots that only stores the window of words between its lowest and highest
+ * set bit, so a term used by a few neighbouring products costs a word or two rather than one bit per
+ * product in the index. Unlike java.util.BitSet it can count an intersection without materializing it.
+ */
+final class DocBitSet {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] words = EMPTY;
+    // Absolute index of the word stored in words[0]
+    private int base;
+
+    DocBitSet() {
+    }
+
+    private DocBitSet(long[] words, int base) {
+        this.words = words;
+        this.base = base;
+    }
+
+    void set(int doc) {
+        int index = doc >>> 6;
+        cover(index, index);
+        words[index - base] |= 1L << doc;
+    }
+
+    void clear(int doc) {
+        int i = (doc >>> 6) - base;
+        if (i >= 0 && i < words.length) {
+            words[i] &= ~(1L << doc);
+        }
+    }
+
+    boolean get(int doc) {
+        return (word(doc >>> 6) & (1L << doc)) != 0;
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    void and(DocBitSet other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.word(base + i);
+        }
+    }
+
+    void or(DocBitSet other) {
+        if (other.words.length == 0) {
+            return;
+        }
+        cover(other.base, other.base + other.words.length - 1);
+        for (int i = 0; i < other.words.length; i++) {
+            words[other.base + i - base] |= other.words[i];
+        }
+    }
+
+    // -1 when there is no set bit at or after from
+    int nextSetBit(int from) {
+        int index = from >>> 6;
+        long mask = -1L << from;
+        if (index < base) {
+            index = base;
+            mask = -1L;
+        }
+        for (int i = index - base; i < words.length; i++) {
+            long word = words[i] & mask;
+            if (word != 0) {
+                return ((base + i) << 6) + Long.numberOfTrailingZeros(word);
+            }
+            mask = -1L;
+        }
+        return -1;
+    }
+
+    // Absolute indexes of the non-zero words, to restrict repeated intersection counts to them
+    int[] nonZeroWords() {
+        int[] indexes = new int[words.length];
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                indexes[n++] = base + i;
+            }
+        }
+        return Arrays.copyOf(indexes, n);
+    }
+
+    DocBitSet copy() {
+        return new DocBitSet(words.clone(), base);
+    }
+
+    static int intersectionCount(DocBitSet a, DocBitSet b, int[] wordIndexes) {
+        int count = 0;
+        for (int index : wordIndexes) {
+            count += Long.bitCount(a.word(index) & b.word(index));
+        }
+        return count;
+    }
+
+    // Grows the window, doubling in the direction of growth, until it spans words first..last
+    private void cover(int first, int last) {
+        if (words.length == 0) {
+            words = new long[last - first + 1];
+            base = first;
+            return;
+        }
+        if (first < base) {
+            int newBase = Math.max(0, Math.min(first, base - words.length));
+            long[] grown = new long[base - newBase + words.length];
+            System.arraycopy(words, 0, grown, base - newBase, words.length);
+            words = grown;
+            base = newBase;
+        }
+        if (last - base >= words.length) {
+            words = Arrays.copyOf(words, Math.max(last - base + 1, words.length * 2));
+        }
+    }
+
+    private long word(int index) {
+        int i = index - base;
+        return i >= 0 && i < words.length ? words[i] : 0L;
+    }
+}
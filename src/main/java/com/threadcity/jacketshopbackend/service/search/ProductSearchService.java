@@ -0,0 +1,202 @@
+package com.threadcity.jacketshopbackend.service.search;
+
+import com.threadcity.jacketshopbackend.dto.request.ProductSearchRequest;
+import com.threadcity.jacketshopbackend.dto.response.ProductFacetResponse;
+import com.threadcity.jacketshopbackend.dto.response.ProductSearchResponse;
+import com.threadcity.jacketshopbackend.event.CatalogChangeBuffer;
+import com.threadcity.jacketshopbackend.event.CatalogChangedEvent;
+import com.threadcity.jacketshopbackend.repository.ProductVariantRepository;
+import com.threadcity.jacketshopbackend.service.search.CatalogSearchIndex.Document;
+import com.threadcity.jacketshopbackend.service.search.CatalogSearchIndex.Facet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+    private static final String PRODUCTS_SQL = "SELECT id, name, description, category_id, brand_id, material_id, "
+            + "style_id FROM products WHERE status = 'ACTIVE'";
+    private static final String VARIANTS_SQL = "SELECT product_id, size_id, color_id FROM product_variants "
+            + "WHERE status = 'ACTIVE'";
+    private static final int MAX_LIMIT = 100;
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ProductVariantRepository productVariantRepository;
+
+    // Swapped whole on rebuild, updated in place for incremental changes
+    private volatile CatalogSearchIndex index = new CatalogSearchIndex();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final CatalogChangeBuffer pendingChanges = new CatalogChangeBuffer();
+
+    public ProductSearchResponse search(ProductSearchRequest request) {
+        log.trace("ProductSearchService::search - Execution started.");
+        Map<Facet, Set<Long>> filters = new EnumMap<>(Facet.class);
+        filters.put(Facet.CATEGORY, single(request.getCategoryId()));
+        filters.put(Facet.BRAND, single(request.getBrandId()));
+        filters.put(Facet.MATERIAL, single(request.getMaterialId()));
+        filters.put(Facet.STYLE, single(request.getStyleId()));
+        filters.put(Facet.SIZE, widen(request.getSizeIds()));
+        filters.put(Facet.COLOR, widen(request.getColorIds()));
+        int limit = Math.max(0, Math.min(request.getLimit(), MAX_LIMIT));
+
+        CatalogSearchIndex.Result result = index.search(request.getQ(), request.isPrefix(), filters, limit);
+        Map<Facet, Map<Long, Long>> counts = result.facetCounts();
+        log.trace("ProductSearchService::search - Execution completed. [total: {}]", result.total());
+        return ProductSearchResponse.builder()
+                .total(result.total())
+                .hits(result.hits().stream()
+                        .map(hit -> ProductSearchResponse.Hit.builder().id(hit.productId()).name(hit.name()).build())
+                        .toList())
+                .facets(ProductFacetResponse.builder()
+                        .categories(counts.get(Facet.CATEGORY))
+                        .brands(counts.get(Facet.BRAND))
+                        .materials(counts.get(Facet.MATERIAL))
+                        .styles(counts.get(Facet.STYLE))
+                        .sizes(counts.get(Facet.SIZE))
+                        .colors(counts.get(Facet.COLOR))
+                        .build())
+                .build();
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            long started = System.nanoTime();
+            CatalogSearchIndex rebuilt = new CatalogSearchIndex();
+            load(null).forEach(rebuilt::put);
+            index = rebuilt;
+            log.info("ProductSearchService::rebuild - Indexed {} products in {} ms.", rebuilt.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Runs on the committing request thread, so it only queues the ids for refreshPending
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        pendingChanges.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        try {
+            pendingChanges.drain(this::refresh);
+        } catch (RuntimeException e) {
+            log.warn("ProductSearchService::refreshPending - Execution failed, will retry.", e);
+        }
+    }
+
+    private void refresh(CatalogChangedEvent event) {
+        Set<Long> productIds = new HashSet<>(event.productIds());
+        for (List<Long> chunk : chunks(event.variantIds())) {
+            productIds.addAll(productVariantRepository.findProductIdsByIdIn(chunk));
+        }
+        for (List<Long> chunk : chunks(productIds)) {
+            // Loaded before taking the lock, searches only wait for the in-memory update
+            List<Document> documents = load(chunk);
+            refreshLock.lock();
+            try {
+                Set<Long> stale = new HashSet<>(chunk);
+                for (Document document : documents) {
+                    index.put(document);
+                    stale.remove(document.productId());
+                }
+                // Deleted or no longer ACTIVE
+                stale.forEach(index::remove);
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+    }
+
+    // Variants first, so each product row can be turned into a document as it streams past
+    private List<Document> load(Collection<Long> productIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", productIds);
+        Map<Long, Set<Long>> sizes = new HashMap<>();
+        Map<Long, Set<Long>> colors = new HashMap<>();
+        namedParameterJdbcTemplate.query(productIds == null ? VARIANTS_SQL : VARIANTS_SQL + " AND product_id IN (:ids)",
+                params, rs -> {
+                    long productId = rs.getLong("product_id");
+                    addIfPresent(sizes, productId, rs, "size_id");
+                    addIfPresent(colors, productId, rs, "color_id");
+                });
+
+        List<Document> documents = new ArrayList<>();
+        namedParameterJdbcTemplate.query(productIds == null ? PRODUCTS_SQL : PRODUCTS_SQL + " AND id IN (:ids)",
+                params, rs -> {
+                    long productId = rs.getLong("id");
+                    Map<Facet, Set<Long>> values = new EnumMap<>(Facet.class);
+                    values.put(Facet.CATEGORY, single(nullableLong(rs, "category_id")));
+                    values.put(Facet.BRAND, single(nullableLong(rs, "brand_id")));
+                    values.put(Facet.MATERIAL, single(nullableLong(rs, "material_id")));
+                    values.put(Facet.STYLE, single(nullableLong(rs, "style_id")));
+                    values.put(Facet.SIZE, sizes.getOrDefault(productId, Set.of()));
+                    values.put(Facet.COLOR, colors.getOrDefault(productId, Set.of()));
+                    documents.add(new Document(productId, rs.getString("name"), rs.getString("description"), values));
+                });
+        return documents;
+    }
+
+    // Keeps IN lists well below the SQL Server limit of 2100 parameters
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += REFRESH_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(all.size(), i + REFRESH_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static void addIfPresent(Map<Long, Set<Long>> target, long productId, ResultSet rs, String column)
+            throws SQLException {
+        Long value = nullableLong(rs, column);
+        if (value != null) {
+            target.computeIfAbsent(productId, id -> new HashSet<>()).add(value);
+        }
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Set<Long> single(Number value) {
+        return value == null ? Set.of() : Set.of(value.longValue());
+    }
+
+    private static Set<Long> widen(Set<Integer> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        Set<Long> widened = new HashSet<>();
+        values.forEach(value -> widened.add(value.longValue()));
+        return widened;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * One-off migration for SQL Server databases created while orders, order_details, cart_items, payments,
+ * auth_refresh_tokens and reviews still had IDENTITY ids. The entities now take ids from pooled sequences,
+ * and ddl-auto=update neither drops IDENTITY nor seeds the sequences, so every insert into those tables
+ * fails until this has run. Run it once with the application stopped, before deploying. Tables whose id
+ * is no longer an IDENTITY column are skipped, so running it again is harmless.
+ *
+ * SQL Server cannot drop IDENTITY in place: the id is copied into a plain bigint column that replaces it
+ * under the same primary key, and the foreign keys pointing at it are dropped and re-added unchanged.
+ * Each *_seq then starts above MAX(id) and steps by the entities' allocationSize of 50.
+ */
+SET XACT_ABORT ON;
+GO
+
+CREATE PROCEDURE #drop_identity @table SYSNAME AS
+BEGIN
+    DECLARE @object INT = OBJECT_ID(@table);
+    IF ISNULL(COLUMNPROPERTY(@object, 'id', 'IsIdentity'), 0) = 0
+        RETURN;
+
+    DECLARE @pk SYSNAME = (SELECT name FROM sys.key_constraints WHERE parent_object_id = @object AND type = 'PK');
+    DECLARE @column NVARCHAR(300) = @table + N'.id_new';
+    DECLARE @dropForeignKeys NVARCHAR(MAX) = N'', @addForeignKeys NVARCHAR(MAX) = N'', @sql NVARCHAR(MAX);
+
+    SELECT @dropForeignKeys += N'ALTER TABLE ' + QUOTENAME(SCHEMA_NAME(t.schema_id)) + N'.' + QUOTENAME(t.name)
+                + N' DROP CONSTRAINT ' + QUOTENAME(fk.name) + N';',
+           @addForeignKeys += N'ALTER TABLE ' + QUOTENAME(SCHEMA_NAME(t.schema_id)) + N'.' + QUOTENAME(t.name)
+                + N' WITH CHECK ADD CONSTRAINT ' + QUOTENAME(fk.name) + N' FOREIGN KEY (' + QUOTENAME(c.name)
+                + N') REFERENCES ' + QUOTENAME(@table) + N' (id)'
+                + N' ON DELETE ' + REPLACE(fk.delete_referential_action_desc, '_', ' ')
+                + N' ON UPDATE ' + REPLACE(fk.update_referential_action_desc, '_', ' ') + N';'
+    FROM sys.foreign_keys fk
+    JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+    JOIN sys.columns c ON c.object_id = fkc.parent_object_id AND c.column_id = fkc.parent_column_id
+    JOIN sys.tables t ON t.object_id = fk.parent_object_id
+    WHERE fk.referenced_object_id = @object;
+
+    EXEC sp_executesql @dropForeignKeys;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD id_new BIGINT NULL;';
+    EXEC sp_executesql @sql;
+    SET @sql = N'UPDATE ' + QUOTENAME(@table) + N' SET id_new = id;';
+    EXEC sp_executesql @sql;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP CONSTRAINT ' + QUOTENAME(@pk) + N';'
+            + N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP COLUMN id;';
+    EXEC sp_executesql @sql;
+    EXEC sp_rename @objname = @column, @newname = N'id', @objtype = N'COLUMN';
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ALTER COLUMN id BIGINT NOT NULL;';
+    EXEC sp_executesql @sql;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD CONSTRAINT ' + QUOTENAME(@pk)
+            + N' PRIMARY KEY CLUSTERED (id);';
+    EXEC sp_executesql @sql;
+    EXEC sp_executesql @addForeignKeys;
+END
+GO
+
+-- Restarts the sequence if ddl-auto=update already created it at 1
+CREATE PROCEDURE #seed_sequence @table SYSNAME, @sequence SYSNAME AS
+BEGIN
+    DECLARE @start BIGINT, @sql NVARCHAR(MAX);
+    SET @sql = N'SELECT @start = ISNULL(MAX(id), 0) + 1 FROM ' + QUOTENAME(@table) + N';';
+    EXEC sp_executesql @sql, N'@start BIGINT OUTPUT', @start = @start OUTPUT;
+
+    IF OBJECT_ID(@sequence, 'SO') IS NULL
+        SET @sql = N'CREATE SEQUENCE ' + QUOTENAME(@sequence) + N' AS BIGINT START WITH '
+                + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50;';
+    ELSE
+        SET @sql = N'ALTER SEQUENCE ' + QUOTENAME(@sequence) + N' RESTART WITH '
+                + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50;';
+    EXEC sp_executesql @sql;
+END
+GO
+
+BEGIN TRANSACTION;
+
+EXEC #drop_identity N'orders';
+EXEC #drop_identity N'order_details';
+EXEC #drop_identity N'cart_items';
+EXEC #drop_identity N'payments';
+EXEC #drop_identity N'auth_refresh_tokens';
+EXEC #drop_identity N'reviews';
+
+EXEC #seed_sequence N'orders', N'orders_seq';
+EXEC #seed_sequence N'order_details', N'order_details_seq';
+EXEC #seed_sequence N'cart_items', N'cart_items_seq';
+EXEC #seed_sequence N'payments', N'payments_seq';
+EXEC #seed_sequence N'auth_refresh_tokens', N'auth_refresh_tokens_seq';
+EXEC #seed_sequence N'reviews', N'reviews_seq';
+
+COMMIT;
+GO
+
+DROP PROCEDURE #drop_identity;
+DROP PROCEDURE #seed_sequence;
+GO
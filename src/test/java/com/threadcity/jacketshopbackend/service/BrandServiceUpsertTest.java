@@ -0,0 +1,100 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.common.Enums.UpsertOutcome;
+import com.threadcity.jacketshopbackend.common.KeysetCursorCodec;
+import com.threadcity.jacketshopbackend.configuration.CacheConfig;
+import com.threadcity.jacketshopbackend.dto.request.BrandRequest;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse;
+import com.threadcity.jacketshopbackend.dto.response.BulkUpsertResponse.Item;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.mapper.BrandMapperImpl;
+import com.threadcity.jacketshopbackend.repository.BrandRepository;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BrandService.class, BrandMapperImpl.class, KeysetCursorCodec.class, CacheConfig.class,
+        CatalogChangeTracker.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BrandServiceUpsertTest {
+
+    @Autowired
+    private BrandService brandService;
+
+    @MockitoSpyBean
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearBrands() {
+        jdbcTemplate.update("DELETE FROM brands");
+    }
+
+    @Test
+    void createsUpdatesAndReportsEachItemInRequestOrder() {
+        brandService.upsertBrands(List.of(brand("Alpha", "a.png"), brand("Bravo", "b.png")));
+
+        BulkUpsertResponse response = brandService.upsertBrands(Arrays.asList(
+                brand("Alpha", "a.png"),
+                brand("Bravo", "b2.png"),
+                brand("Charlie", null),
+                brand(" ", null),
+                brand("Charlie", null),
+                null));
+
+        assertThat(response.getItems()).extracting(Item::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(response.getItems()).extracting(Item::getOutcome).containsExactly(
+                UpsertOutcome.UNCHANGED, UpsertOutcome.UPDATED, UpsertOutcome.CREATED,
+                UpsertOutcome.FAILED, UpsertOutcome.FAILED, UpsertOutcome.FAILED);
+        assertThat(response.getItems().get(2).getId()).isNotNull();
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT logo_url FROM brands WHERE name = 'Bravo'", String.class))
+                .isEqualTo("b2.png");
+    }
+
+    @Test
+    void insertedRowThatCannotBeReadBackIsReportedAsFailed() {
+        // The existence check sees nothing, and neither does the read-back after the insert
+        doReturn(List.of()).when(brandRepository).findByNameIn(anyCollection());
+
+        BulkUpsertResponse response = brandService.upsertBrands(List.of(brand("Delta", null)));
+
+        assertThat(response.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getOutcome()).isEqualTo(UpsertOutcome.FAILED);
+            assertThat(item.getId()).isNull();
+        });
+        assertThat(response.getFailed()).isEqualTo(1);
+    }
+
+    private static BrandRequest brand(String name, String logoUrl) {
+        return BrandRequest.builder().name(name).logoUrl(logoUrl).status(Status.ACTIVE).build();
+    }
+}
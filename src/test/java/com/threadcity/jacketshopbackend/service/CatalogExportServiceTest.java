@@ -0,0 +1,107 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CatalogExportService.class, InventoryService.class, CatalogChangeTracker.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogExportServiceTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void everyKindOfStockChangeShowsUpInAnIncrementalExport() {
+        long reserved = createVariant("EXP-RESERVE");
+        long decremented = createVariant("EXP-DECREMENT");
+        long incremented = createVariant("EXP-INCREMENT");
+        long adjusted = createVariant("EXP-ADJUST");
+        createVariant("EXP-UNTOUCHED");
+        // Last catalog edit an hour ago, well before the feed's previous run
+        OffsetDateTime anHourAgo = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1);
+        jdbcTemplate.update("UPDATE product_variants SET updated_at = ?", anHourAgo);
+        jdbcTemplate.update("UPDATE products SET updated_at = ?", anHourAgo);
+        Instant since = Instant.now().minus(Duration.ofMinutes(1));
+
+        assertThat(exportSince(since)).doesNotContain("EXP-");
+
+        inventoryService.reserve(1L, reserved, 1);
+        inventoryService.decrementAll(Map.of(decremented, 1));
+        inventoryService.incrementAll(Map.of(incremented, 1));
+        inventoryService.adjustAll(Map.of(adjusted, -1));
+
+        String export = exportSince(since);
+        assertThat(export).contains("EXP-RESERVE", "EXP-DECREMENT", "EXP-INCREMENT", "EXP-ADJUST")
+                .doesNotContain("EXP-UNTOUCHED");
+    }
+
+    private String exportSince(Instant since) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        catalogExportService.export(CatalogExportService.Format.NDJSON, since, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private long createVariant(String sku) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Product " + sku).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(sku).price(BigDecimal.valueOf(500000))
+                    .costPrice(BigDecimal.valueOf(300000)).quantity(10).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            return variant.getId();
+        });
+    }
+}
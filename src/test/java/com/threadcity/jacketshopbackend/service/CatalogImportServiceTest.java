@@ -0,0 +1,125 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.response.CatalogImportReport;
+import com.threadcity.jacketshopbackend.dto.response.CatalogImportReport.RowError;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CatalogImportService.class, CatalogChangeTracker.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "catalog.import.chunk-size=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "productName,category,sku,price,costPrice,quantity\n";
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createCategory() {
+        jdbcTemplate.update("DELETE FROM product_variants");
+        jdbcTemplate.update("DELETE FROM products");
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class) == 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Instant now = Instant.now();
+                entityManager.persist(Category.builder()
+                        .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build());
+            });
+        }
+    }
+
+    @Test
+    void invalidRowsAreReportedAndTheRestIsImported() {
+        CatalogImportReport report = importCsv(HEADER
+                + "Bomber,Jackets,B-1,500000,300000,5\n"
+                + "Bomber,Jackets,B-2,500000,300000,5\n"
+                + "Bomber,Unknown,B-3,500000,300000,5\n"
+                + "Bomber,Jackets,B-1,500000,300000,5\n"
+                + "Parka,Jackets,P-1,-1,300000,5\n"
+                + "Parka,Jackets,P-2,900000,600000,2\n");
+
+        assertThat(report.getRowsRead()).isEqualTo(6);
+        assertThat(report.getProductsCreated()).isEqualTo(2);
+        assertThat(report.getVariantsCreated()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(RowError::getMessage).containsExactlyInAnyOrder(
+                "Unknown category: Unknown", "Duplicate SKU in file: B-1", "price must not be negative");
+        assertThat(skus()).isEqualTo(3);
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseDoesNotFailTheRestOfItsChunk() {
+        // Fits a BigDecimal but not the numeric(12, 2) column, so only the insert can catch it
+        CatalogImportReport report = importCsv(HEADER
+                + "Bomber,Jackets,B-1,500000,300000,5\n"
+                + "Bomber,Jackets,B-2,100000000000,300000,5\n"
+                + "Bomber,Jackets,B-3,500000,300000,5\n");
+
+        assertThat(report.getVariantsCreated()).isEqualTo(2);
+        assertThat(report.getProductsCreated()).isEqualTo(1);
+        assertThat(report.getRowsFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3);
+            assertThat(error.getMessage()).startsWith("Rejected by the database");
+        });
+        assertThat(skus()).isEqualTo(2);
+    }
+
+    @Test
+    void skuImportedByAnEarlierChunkOrRunIsRejected() {
+        importCsv(HEADER + "Bomber,Jackets,B-1,500000,300000,5\n");
+
+        CatalogImportReport report = importCsv(HEADER
+                + "Bomber,Jackets,B-1,500000,300000,5\n"
+                + "Bomber,Jackets,B-2,500000,300000,5\n");
+
+        assertThat(report.getProductsCreated()).isZero();
+        assertThat(report.getVariantsCreated()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(RowError::getMessage).containsExactly("SKU already exists: B-1");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class)).isEqualTo(1);
+    }
+
+    private CatalogImportReport importCsv(String csv) {
+        return catalogImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long skus() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_variants", Long.class);
+    }
+}
@@ -0,0 +1,234 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.request.CheckoutRequest;
+import com.threadcity.jacketshopbackend.dto.response.CartResponse;
+import com.threadcity.jacketshopbackend.dto.response.CheckoutResponse;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.PaymentMethod;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.entity.Province;
+import com.threadcity.jacketshopbackend.entity.ShippingMethod;
+import com.threadcity.jacketshopbackend.entity.Ward;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.service.cart.CartEngine;
+import com.threadcity.jacketshopbackend.service.order.OrderCodeGenerator;
+import com.threadcity.jacketshopbackend.service.order.OrderService;
+import com.threadcity.jacketshopbackend.service.outbox.OutboxPublisher;
+import com.threadcity.jacketshopbackend.service.pricing.PricingEngine;
+import com.threadcity.jacketshopbackend.support.Concurrently;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CheckoutService.class, CouponService.class, InventoryService.class, PricingEngine.class,
+        OrderCodeGenerator.class, OrderService.class, OutboxPublisher.class, CatalogChangeTracker.class,
+        CheckoutServiceTest.CartConfig.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CheckoutServiceTest {
+
+    private static final AtomicInteger SKUS = new AtomicInteger();
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CartEngine cartEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // The cart classes are package-private, so they come in by scanning their package
+    @TestConfiguration
+    @ComponentScan(basePackageClasses = CartEngine.class)
+    static class CartConfig {
+    }
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("cart.journal.dir", Files.createTempDirectory("cart-journal")::toString);
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheOrder() {
+        Fixture fixture = fixture(10);
+        CheckoutRequest request = fixture.request();
+
+        CheckoutResponse first = checkoutService.checkout("key-replay", null, fixture.guestToken(), request);
+        CheckoutResponse retry = checkoutService.checkout("key-replay", null, fixture.guestToken(), request);
+
+        assertThat(first.isReplayed()).isFalse();
+        assertThat(retry.isReplayed()).isTrue();
+        assertThat(retry.getOrderId()).isEqualTo(first.getOrderId());
+        assertThat(retry.getOrderCode()).isEqualTo(first.getOrderCode());
+        assertThat(ordersOf(fixture)).isEqualTo(1);
+        assertThat(stockOf(fixture.variantId())).isEqualTo(8);
+    }
+
+    @Test
+    void placedOrderHasAPendingPaymentForItsTotal() {
+        Fixture fixture = fixture(10);
+
+        CheckoutResponse response = checkoutService.checkout("key-payment", null, fixture.guestToken(),
+                fixture.request());
+
+        Map<String, Object> payment = jdbcTemplate.queryForMap(
+                "SELECT status, amount, payment_method_id FROM payments WHERE order_id = ?", response.getOrderId());
+        assertThat(payment.get("STATUS")).isEqualTo("PENDING");
+        assertThat((BigDecimal) payment.get("AMOUNT")).isEqualByComparingTo(response.getTotal());
+        assertThat(payment.get("PAYMENT_METHOD_ID")).isEqualTo(fixture.paymentMethodId());
+    }
+
+    @Test
+    void differentRequestWithAUsedKeyIsRejected() {
+        Fixture fixture = fixture(10);
+        checkoutService.checkout("key-mismatch", null, fixture.guestToken(), fixture.request());
+
+        CheckoutRequest changed = fixture.request();
+        changed.setNote("Leave at the door");
+
+        assertThatThrownBy(() -> checkoutService.checkout("key-mismatch", null, fixture.guestToken(), changed))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("different checkout request");
+        assertThat(ordersOf(fixture)).isEqualTo(1);
+    }
+
+    @Test
+    void anotherGuestReusingTheKeyAndBodyDoesNotGetTheOrderBack() {
+        Fixture fixture = fixture(10);
+        CheckoutRequest request = fixture.request();
+        checkoutService.checkout("key-guest", null, fixture.guestToken(), request);
+
+        assertThatThrownBy(() -> checkoutService.checkout("key-guest", null, "someone-elses-token", request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("different checkout request");
+        assertThat(ordersOf(fixture)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyPlaceOneOrder() throws Exception {
+        Fixture fixture = fixture(10);
+        CheckoutRequest request = fixture.request();
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejected = new AtomicInteger();
+
+        Concurrently.run(16, 16, i -> {
+            try {
+                orderIds.add(checkoutService.checkout("key-race", null, fixture.guestToken(), request).getOrderId());
+            } catch (BusinessException e) {
+                // In progress, or the cart was already emptied by the winner
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(orderIds).hasSize(1);
+        assertThat(ordersOf(fixture)).isEqualTo(1);
+        assertThat(stockOf(fixture.variantId())).isEqualTo(8);
+        // Once the winner has committed, the key replays its order
+        assertThat(checkoutService.checkout("key-race", null, fixture.guestToken(), request).getOrderId())
+                .isEqualTo(orderIds.iterator().next());
+    }
+
+    // One variant and a guest cart holding two of it, with shipping and payment to choose from
+    private Fixture fixture(int stock) {
+        String sku = "CHK-" + SKUS.incrementAndGet();
+        Fixture fixture = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Product " + sku).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(sku).price(BigDecimal.valueOf(500000))
+                    .costPrice(BigDecimal.valueOf(300000)).quantity(stock).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            ShippingMethod shipping = ShippingMethod.builder()
+                    .name("Standard").fee(BigDecimal.valueOf(30000)).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(shipping);
+            PaymentMethod payment = PaymentMethod.builder()
+                    .name("COD").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(payment);
+            int code = SKUS.get();
+            Province province = Province.builder().code(code).name("Province " + code).codename("p" + code).build();
+            entityManager.persist(province);
+            Ward ward = Ward.builder().code(code).name("Ward " + code).codename("w" + code).province(province).build();
+            entityManager.persist(ward);
+            return new Fixture(variant.getId(), shipping.getId(), payment.getId(), ward.getCode(), null, null);
+        });
+        CartResponse cart = cartEngine.createCart(null);
+        cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), fixture.variantId(), 2);
+        return new Fixture(fixture.variantId(), fixture.shippingMethodId(), fixture.paymentMethodId(),
+                fixture.wardCode(), cart.getId(), cart.getGuestToken());
+    }
+
+    private long ordersOf(Fixture fixture) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_details WHERE product_variant_id = ?", Long.class, fixture.variantId());
+    }
+
+    private int stockOf(long variantId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM product_variants WHERE id = ?", Integer.class,
+                variantId);
+    }
+
+    private record Fixture(long variantId, int shippingMethodId, int paymentMethodId, int wardCode, Long cartId,
+            String guestToken) {
+
+        CheckoutRequest request() {
+            CheckoutRequest request = new CheckoutRequest();
+            request.setCartId(cartId);
+            request.setCustomerName("Guest");
+            request.setCustomerPhone("0900000000");
+            request.setShippingAddressLine("1 Test Street");
+            request.setShippingWardCode(wardCode);
+            request.setShippingMethodId(shippingMethodId);
+            request.setPaymentMethodId(paymentMethodId);
+            return request;
+        }
+    }
+}
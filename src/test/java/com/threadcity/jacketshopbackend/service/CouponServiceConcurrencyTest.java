@@ -0,0 +1,99 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.threadcity.jacketshopbackend.common.Enums.CouponType;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.CouponRepository;
+import com.threadcity.jacketshopbackend.service.pricing.PricingEngine;
+import com.threadcity.jacketshopbackend.support.Concurrently;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CouponService.class, PricingEngine.class, CatalogChangeTracker.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CouponServiceConcurrencyTest {
+
+    private static final BigDecimal ORDER_VALUE = BigDecimal.valueOf(1_000_000);
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Test
+    void usageLimitHoldsExactlyUnderConcurrentRedemptions() throws Exception {
+        Coupon coupon = createCoupon("FLASH100", 100);
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        Concurrently.run(64, 600, i -> {
+            try {
+                couponService.redeem("FLASH100", ORDER_VALUE);
+                granted.incrementAndGet();
+            } catch (BusinessException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertThat(granted.get()).isEqualTo(100);
+        assertThat(refused.get()).isEqualTo(500);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getUsedCount()).isEqualTo(100);
+    }
+
+    @Test
+    void percentDiscountIsCappedByMaxDiscount() {
+        createCoupon("PERCENT10", null);
+
+        CouponService.Redemption redemption = couponService.redeem("PERCENT10", ORDER_VALUE);
+
+        assertThat(redemption.discount()).isEqualByComparingTo("50000");
+    }
+
+    @Test
+    void orderBelowMinimumIsRejectedWithoutUsingTheCoupon() {
+        Coupon coupon = createCoupon("MIN500K", 10);
+
+        assertThatThrownBy(() -> couponService.redeem("MIN500K", BigDecimal.valueOf(100_000)))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getUsedCount()).isZero();
+    }
+
+    private Coupon createCoupon(String code, Integer usageLimit) {
+        Instant now = Instant.now();
+        return couponRepository.save(Coupon.builder()
+                .code(code)
+                .type(CouponType.PERCENT)
+                .value(BigDecimal.TEN)
+                .minOrderValue(BigDecimal.valueOf(500_000))
+                .maxDiscount(BigDecimal.valueOf(50_000))
+                .usageLimit(usageLimit)
+                .validFrom(now.minus(Duration.ofDays(1)))
+                .validTo(now.plus(Duration.ofDays(1)))
+                .status(Status.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+}
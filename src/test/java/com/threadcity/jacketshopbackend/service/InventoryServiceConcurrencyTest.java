@@ -0,0 +1,180 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.ReservationStatus;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.exception.BusinessException;
+import com.threadcity.jacketshopbackend.repository.StockReservationRepository;
+import com.threadcity.jacketshopbackend.support.Concurrently;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ InventoryService.class, CatalogChangeTracker.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceConcurrencyTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentReservationsOnHotSkuNeverOversell() throws Exception {
+        long variantId = createVariant("HOT-1", 250);
+        int attempts = 2000;
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        Concurrently.run(64, attempts, i -> {
+            try {
+                inventoryService.reserve((long) i, variantId, 1);
+                reserved.incrementAndGet();
+            } catch (BusinessException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(reserved.get()).isEqualTo(250);
+        assertThat(rejected.get()).isEqualTo(attempts - 250);
+        assertThat(stockOf(variantId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_reservations WHERE product_variant_id = ?", Long.class, variantId))
+                .isEqualTo(250);
+    }
+
+    @Test
+    void batchedDecrementsInOppositeOrderDoNotDeadlock() throws Exception {
+        long first = createVariant("BATCH-1", 1000);
+        long second = createVariant("BATCH-2", 1000);
+
+        Map<Long, Integer> forward = ordered(first, 1, second, 2);
+        Map<Long, Integer> backward = ordered(second, 2, first, 1);
+
+        Concurrently.run(32, 400, i -> inventoryService.decrementAll(i % 2 == 0 ? forward : backward));
+
+        assertThat(stockOf(first)).isEqualTo(600);
+        assertThat(stockOf(second)).isEqualTo(200);
+    }
+
+    @Test
+    void batchedDecrementIsAllOrNothing() {
+        long plenty = createVariant("ALL-1", 10);
+        long scarce = createVariant("ALL-2", 1);
+
+        assertThatThrownBy(() -> inventoryService.decrementAll(Map.of(plenty, 5, scarce, 2)))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(stockOf(plenty)).isEqualTo(10);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void signedAdjustmentsTakingAndReturningStockDoNotDeadlock() throws Exception {
+        long first = createVariant("ADJ-1", 1000);
+        long second = createVariant("ADJ-2", 1000);
+
+        // Each checkout takes one variant and returns surplus reservation of the other
+        Map<Long, Integer> forward = ordered(first, -2, second, 1);
+        Map<Long, Integer> backward = ordered(second, -2, first, 1);
+
+        Concurrently.run(32, 400, i -> inventoryService.adjustAll(i % 2 == 0 ? forward : backward));
+
+        assertThat(stockOf(first)).isEqualTo(800);
+        assertThat(stockOf(second)).isEqualTo(800);
+
+        assertThatThrownBy(() -> inventoryService.adjustAll(Map.of(first, 5, second, -801)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(stockOf(first)).isEqualTo(800);
+    }
+
+    @Test
+    void expiredReservationsReturnStockExactlyOnce() throws Exception {
+        long variantId = createVariant("EXP-1", 20);
+        for (long cart = 1; cart <= 10; cart++) {
+            inventoryService.reserve(cart, variantId, 2);
+        }
+        jdbcTemplate.update("UPDATE stock_reservations SET expires_at = ?", Instant.now().minusSeconds(60));
+
+        // Sweeper and explicit releases race for the same rows
+        Concurrently.run(8, 16, i -> {
+            if (i % 2 == 0) {
+                inventoryService.expireReservations();
+            } else {
+                inventoryService.releaseCart((long) (i / 2 + 1));
+            }
+        });
+
+        assertThat(stockOf(variantId)).isEqualTo(20);
+        assertThat(stockReservationRepository.findAll())
+                .filteredOn(r -> r.getProductVariantId() == variantId)
+                .noneMatch(r -> r.getStatus() == ReservationStatus.ACTIVE);
+    }
+
+    // Iterates in exactly the order given, unlike Map.of
+    private static Map<Long, Integer> ordered(long firstId, int firstQuantity, long secondId, int secondQuantity) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(firstId, firstQuantity);
+        quantities.put(secondId, secondQuantity);
+        return quantities;
+    }
+
+    private long createVariant(String sku, int quantity) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Product " + sku).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(sku).price(BigDecimal.valueOf(500000))
+                    .costPrice(BigDecimal.valueOf(300000)).quantity(quantity).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            return variant.getId();
+        });
+    }
+
+    private int stockOf(long variantId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM product_variants WHERE id = ?", Integer.class,
+                variantId);
+    }
+}
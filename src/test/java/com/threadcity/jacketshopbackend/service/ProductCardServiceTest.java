@@ -0,0 +1,106 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.mapper.ProductMapperImpl;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProductCardService.class, ProductMapperImpl.class, CatalogChangeTracker.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductCardServiceTest {
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void changesFlushedByTheCommitItselfRefreshTheCard() {
+        long productId = createProduct("Bomber", 5);
+        productCardService.refreshPending();
+        assertThat(cardName(productId)).isEqualTo("Bomber");
+
+        // Dirty checking only: the entity listeners fire during the commit's own flush
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = entityManager.find(Product.class, productId);
+            product.setName("Flight bomber");
+            product.getVariants().forEach(variant -> variant.setQuantity(7));
+        });
+        productCardService.refreshPending();
+
+        assertThat(cardName(productId)).isEqualTo("Flight bomber");
+        assertThat(jdbcTemplate.queryForObject("SELECT total_stock FROM product_cards WHERE product_id = ?",
+                Integer.class, productId)).isEqualTo(7);
+    }
+
+    @Test
+    void rolledBackChangesAreNotPublished() {
+        long productId = createProduct("Parka", 5);
+        productCardService.refreshPending();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.find(Product.class, productId).setName("Never saved");
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        jdbcTemplate.update("UPDATE products SET name = 'Changed behind the tracker' WHERE id = ?", productId);
+        productCardService.refreshPending();
+
+        assertThat(cardName(productId)).isEqualTo("Parka");
+    }
+
+    private long createProduct(String name, int quantity) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name(name).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(name.toUpperCase() + "-" + now.toEpochMilli())
+                    .price(BigDecimal.valueOf(500000)).costPrice(BigDecimal.valueOf(300000))
+                    .quantity(quantity).status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            product.getVariants().add(variant);
+            return product.getId();
+        });
+    }
+
+    private String cardName(long productId) {
+        return jdbcTemplate.query("SELECT name FROM product_cards WHERE product_id = ?",
+                rs -> rs.next() ? rs.getString(1) : null, productId);
+    }
+}
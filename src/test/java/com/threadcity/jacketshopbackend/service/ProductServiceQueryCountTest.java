@@ -0,0 +1,95 @@
+package com.threadcity.jacketshopbackend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.configuration.DataSourceProxyConfig;
+import com.threadcity.jacketshopbackend.dto.response.ProductDetailResponse;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Color;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.entity.Size;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.mapper.ProductMapperImpl;
+import com.threadcity.jacketshopbackend.support.SqlStatements;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProductService.class, ProductMapperImpl.class, CatalogChangeTracker.class, DataSourceProxyConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceQueryCountTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void productDetailDoesNotLoadVariantDimensionsOneByOne() throws Exception {
+        long productId = createProductWithVariants(Status.ACTIVE, 12, 0);
+
+        ProductDetailResponse detail = SqlStatements.atMost(2, () -> productService.getProductDetail(Status.ACTIVE, productId));
+
+        assertThat(detail.getVariants()).hasSize(12)
+                .allSatisfy(variant -> assertThat(variant.getSizeName()).isNotNull());
+    }
+
+    @Test
+    void productDetailHidesInactiveProductsAndVariants() {
+        long productId = createProductWithVariants(Status.ACTIVE, 3, 2);
+        long hiddenId = createProductWithVariants(Status.INACTIVE, 1, 0);
+
+        assertThat(productService.getProductDetail(Status.ACTIVE, productId).getVariants()).hasSize(3);
+        assertThatThrownBy(() -> productService.getProductDetail(Status.ACTIVE, hiddenId))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private long createProductWithVariants(Status productStatus, int active, int inactive) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Bomber").category(category).status(productStatus)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            for (int i = 0; i < active + inactive; i++) {
+                Size size = Size.builder()
+                        .name("S" + i).status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+                entityManager.persist(size);
+                Color color = Color.builder()
+                        .name("C" + i).status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+                entityManager.persist(color);
+                entityManager.persist(ProductVariant.builder()
+                        .product(product).size(size).color(color).sku("BOMBER-" + product.getId() + "-" + i)
+                        .price(BigDecimal.valueOf(500000)).costPrice(BigDecimal.valueOf(300000))
+                        .quantity(5).status(i < active ? Status.ACTIVE : Status.INACTIVE).createdAt(now).updatedAt(now).build());
+            }
+            return product.getId();
+        });
+    }
+}
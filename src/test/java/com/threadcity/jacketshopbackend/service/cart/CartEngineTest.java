@@ -0,0 +1,227 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.dto.response.CartResponse;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CartEngine.class, CartWriter.class, CartJournal.class, CatalogChangeTracker.class })
+// Every clean cart is idle by the time a flush finishes, so each flush evicts it
+@TestPropertySource(properties = "cart.store.idle-timeout=0s")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartEngineTest {
+
+    private static Path journalDir;
+
+    @Autowired
+    private CartEngine cartEngine;
+
+    @MockitoSpyBean
+    private CartWriter cartWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) throws IOException {
+        journalDir = Files.createTempDirectory("cart-journal");
+        registry.add("cart.journal.dir", journalDir::toString);
+    }
+
+    @Test
+    void journalIsKeptUntilEveryDirtyCartHasBeenWritten() {
+        long variantId = createVariant("FLUSH-1");
+        CartResponse cart = cartEngine.createCart(null);
+        cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), variantId, 2);
+
+        doThrow(new QueryTimeoutException("down")).when(cartWriter).write(anyList());
+        cartEngine.flushDirty();
+
+        assertThat(quantityOf(cart.getId(), variantId)).isNull();
+        assertThat(journalBytes()).isPositive();
+
+        doAnswer(invocation -> invocation.callRealMethod()).when(cartWriter).write(anyList());
+        cartEngine.flushDirty();
+
+        assertThat(quantityOf(cart.getId(), variantId)).isEqualTo(2);
+        assertThat(journalBytes()).isZero();
+    }
+
+    @Test
+    void editMadeWhileAFlushIsWritingIsFlushedNextTime() {
+        long variantId = createVariant("RACE-1");
+        CartResponse cart = cartEngine.createCart(null);
+        cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), variantId, 2);
+
+        // Lands after the flush took its snapshot but before that snapshot is marked as written
+        AtomicBoolean racing = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (racing.getAndSet(false)) {
+                cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), variantId, 5);
+            }
+            return invocation.callRealMethod();
+        }).when(cartWriter).write(anyList());
+        cartEngine.flushDirty();
+
+        assertThat(quantityOf(cart.getId(), variantId)).isEqualTo(2);
+        assertThat(carts()).containsKey(cart.getId());
+        assertThat(journalBytes()).isPositive();
+
+        cartEngine.flushDirty();
+
+        assertThat(quantityOf(cart.getId(), variantId)).isEqualTo(5);
+        assertThat(journalBytes()).isZero();
+    }
+
+    @Test
+    void evictedCartIsRetiredAndReloadedOnItsNextUse() {
+        long first = createVariant("EVICT-1");
+        long second = createVariant("EVICT-2");
+        CartResponse cart = cartEngine.createCart(null);
+        cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), first, 1);
+        CartState evicted = carts().get(cart.getId());
+
+        cartEngine.flushDirty();
+
+        assertThat(carts()).doesNotContainKey(cart.getId());
+        assertThat(evicted.isRetired()).isTrue();
+
+        CartResponse reloaded = cartEngine.setQuantity(cart.getId(), null, cart.getGuestToken(), second, 3);
+        cartEngine.flushDirty();
+
+        assertThat(reloaded.getItems()).extracting(CartResponse.Item::getVariantId).containsExactly(first, second);
+        assertThat(carts().get(cart.getId())).isNotSameAs(evicted);
+        assertThat(quantityOf(cart.getId(), first)).isEqualTo(1);
+        assertThat(quantityOf(cart.getId(), second)).isEqualTo(3);
+    }
+
+    @Test
+    void restartReplaysTheJournalUpToATornRecord() throws IOException {
+        long first = createVariant("CRASH-1");
+        long second = createVariant("CRASH-2");
+        CartResponse cart = cartEngine.createCart(null);
+        cartEngine.stop();
+        try {
+            // What a crashed node leaves behind: two whole records and half of a third
+            CartJournal crashed = new CartJournal();
+            ReflectionTestUtils.setField(crashed, "dir", journalDir);
+            crashed.recover();
+            crashed.open();
+            crashed.append(CartJournal.SET_LINE, cart.getId(), first, 4, () -> {
+            });
+            crashed.append(CartJournal.SET_LINE, cart.getId(), first, 2, () -> {
+            });
+            crashed.append(CartJournal.SET_LINE, cart.getId(), second, 9, () -> {
+            });
+            crashed.close();
+            Path segment = lastSegment();
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(segment) - 10);
+            }
+        } finally {
+            cartEngine.start();
+        }
+
+        assertThat(quantityOf(cart.getId(), first)).isEqualTo(2);
+        assertThat(quantityOf(cart.getId(), second)).isNull();
+        assertThat(cartEngine.getCart(cart.getId(), null, cart.getGuestToken()).getItems())
+                .extracting(CartResponse.Item::getVariantId).containsExactly(first);
+        assertThat(journalBytes()).isZero();
+    }
+
+    private long createVariant(String sku) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Product " + sku).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(sku).price(BigDecimal.valueOf(500000))
+                    .costPrice(BigDecimal.valueOf(300000)).quantity(10).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            return variant.getId();
+        });
+    }
+
+    private Integer quantityOf(long cartId, long variantId) {
+        return jdbcTemplate.query("SELECT quantity FROM cart_items WHERE cart_id = ? AND product_variant_id = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, cartId, variantId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, CartState> carts() {
+        return (Map<Long, CartState>) ReflectionTestUtils.getField(cartEngine, "carts");
+    }
+
+    private static long journalBytes() {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.max(Path::compareTo).orElseThrow();
+        }
+    }
+}
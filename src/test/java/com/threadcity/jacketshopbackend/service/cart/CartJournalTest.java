@@ -0,0 +1,103 @@
+package com.threadcity.jacketshopbackend.service.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CartJournalTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void tornTailIsDroppedAndTheRecordsBeforeItAreRecovered() throws IOException {
+        CartJournal journal = openJournal();
+        journal.append(CartJournal.SET_LINE, 1, 10, 2, () -> {
+        });
+        journal.append(CartJournal.SET_LINE, 1, 11, 3, () -> {
+        });
+        journal.append(CartJournal.CLEAR, 2, 0, 0, () -> {
+        });
+        journal.close();
+        // A crash halfway through the last write
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(segment) - 7);
+        }
+
+        CartJournal restarted = journal();
+        List<CartJournal.Record> records = restarted.recover();
+
+        assertThat(records).containsExactly(
+                new CartJournal.Record(CartJournal.SET_LINE, 1, 10, 2),
+                new CartJournal.Record(CartJournal.SET_LINE, 1, 11, 3));
+        // New appends never land behind the torn record
+        restarted.open();
+        restarted.append(CartJournal.SET_LINE, 3, 12, 1, () -> {
+        });
+        restarted.close();
+        assertThat(journal().recover()).hasSize(3);
+    }
+
+    @Test
+    void corruptRecordEndsItsSegment() throws IOException {
+        CartJournal journal = openJournal();
+        journal.append(CartJournal.SET_LINE, 1, 10, 2, () -> {
+        });
+        journal.append(CartJournal.SET_LINE, 1, 11, 3, () -> {
+        });
+        journal.close();
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        // Quantity of the second record, which its checksum no longer matches
+        bytes[25 + 20] ^= 0x01;
+        Files.write(segment, bytes);
+
+        assertThat(journal().recover()).containsExactly(new CartJournal.Record(CartJournal.SET_LINE, 1, 10, 2));
+    }
+
+    @Test
+    void deletingSealedSegmentsKeepsAppendsMadeAfterTheRoll() {
+        CartJournal journal = openJournal();
+        journal.append(CartJournal.SET_LINE, 1, 10, 2, () -> {
+        });
+        long sealed = journal.roll();
+        journal.append(CartJournal.SET_LINE, 1, 10, 5, () -> {
+        });
+        journal.deleteUpTo(sealed);
+        journal.close();
+
+        assertThat(journal().recover()).containsExactly(new CartJournal.Record(CartJournal.SET_LINE, 1, 10, 5));
+    }
+
+    private CartJournal openJournal() {
+        CartJournal journal = journal();
+        assertThat(journal.recover()).isEmpty();
+        journal.open();
+        return journal;
+    }
+
+    private CartJournal journal() {
+        CartJournal journal = new CartJournal();
+        ReflectionTestUtils.setField(journal, "dir", dir);
+        return journal;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = files.toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+}
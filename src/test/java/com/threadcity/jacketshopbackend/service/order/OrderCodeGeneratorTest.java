@@ -0,0 +1,71 @@
+package com.threadcity.jacketshopbackend.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.threadcity.jacketshopbackend.support.Concurrently;
+
+class OrderCodeGeneratorTest {
+
+    @Test
+    void concurrentCallsOnSeveralNodesNeverCollide() throws Exception {
+        // A frozen clock makes every call land in the same millisecond and overflow the counter
+        long frozen = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        OrderCodeGenerator[] nodes = new OrderCodeGenerator[4];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new OrderCodeGenerator(i == 0 ? OrderCodeGenerator.MAX_NODE_ID : i, () -> frozen);
+        }
+        int tasks = 32;
+        int perTask = 20_000;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        Concurrently.run(16, tasks, i -> {
+            OrderCodeGenerator generator = nodes[i % nodes.length];
+            String previous = "";
+            for (int n = 0; n < perTask; n++) {
+                String code = generator.next();
+                assertThat(code).hasSize(OrderCodeGenerator.CODE_LENGTH).isGreaterThan(previous);
+                codes.add(code);
+                previous = code;
+            }
+        });
+
+        assertThat(codes).hasSize(tasks * perTask);
+    }
+
+    @Test
+    void codesSortByTimeAsStrings() {
+        AtomicLong clock = new AtomicLong(Instant.parse("2026-03-01T00:00:00Z").toEpochMilli());
+        OrderCodeGenerator generator = new OrderCodeGenerator(7, clock::get);
+        long previousId = -1;
+        String previousCode = "";
+        for (int i = 0; i < 10_000; i++) {
+            clock.addAndGet(i % 3);
+            long id = generator.nextId();
+            String code = OrderCodeGenerator.format(id);
+            assertThat(id).isGreaterThan(previousId);
+            assertThat(code).startsWith(OrderCodeGenerator.PREFIX).isGreaterThan(previousCode);
+            previousId = id;
+            previousCode = code;
+        }
+        assertThat(OrderCodeGenerator.timestampOf(previousId)).isEqualTo(Instant.ofEpochMilli(clock.get()));
+    }
+
+    @Test
+    void clockMovingBackwardsDoesNotRepeatCodes() {
+        AtomicLong clock = new AtomicLong(Instant.parse("2026-06-01T12:00:00Z").toEpochMilli());
+        OrderCodeGenerator generator = new OrderCodeGenerator(1, clock::get);
+        long before = generator.nextId();
+        clock.addAndGet(-5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(OrderCodeGenerator.timestampOf(after)).isEqualTo(OrderCodeGenerator.timestampOf(before));
+    }
+}
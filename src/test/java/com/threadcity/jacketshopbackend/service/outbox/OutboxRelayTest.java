@@ -0,0 +1,393 @@
+package com.threadcity.jacketshopbackend.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadcity.jacketshopbackend.common.Enums.CouponType;
+import com.threadcity.jacketshopbackend.common.Enums.OrderStatus;
+import com.threadcity.jacketshopbackend.common.Enums.OutboxStatus;
+import com.threadcity.jacketshopbackend.common.Enums.Status;
+import com.threadcity.jacketshopbackend.entity.Category;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+import com.threadcity.jacketshopbackend.entity.Order;
+import com.threadcity.jacketshopbackend.entity.OrderDetail;
+import com.threadcity.jacketshopbackend.entity.OutboxEvent;
+import com.threadcity.jacketshopbackend.entity.PaymentMethod;
+import com.threadcity.jacketshopbackend.entity.Product;
+import com.threadcity.jacketshopbackend.entity.ProductVariant;
+import com.threadcity.jacketshopbackend.entity.Province;
+import com.threadcity.jacketshopbackend.entity.ShippingMethod;
+import com.threadcity.jacketshopbackend.entity.Ward;
+import com.threadcity.jacketshopbackend.event.CatalogChangeTracker;
+import com.threadcity.jacketshopbackend.repository.OutboxEventRepository;
+import com.threadcity.jacketshopbackend.service.CouponService;
+import com.threadcity.jacketshopbackend.service.InventoryService;
+import com.threadcity.jacketshopbackend.service.order.OrderCancellationHandler;
+import com.threadcity.jacketshopbackend.service.order.OrderStatusChanged;
+import com.threadcity.jacketshopbackend.service.pricing.PricingEngine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OutboxRelay.class, OutboxConsumptions.class, OrderCancellationHandler.class, InventoryService.class,
+        CouponService.class, PricingEngine.class, CatalogChangeTracker.class, OutboxRelayTest.Config.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// The relay thread stays off; each test runs batches itself with relayOnce
+@TestPropertySource(properties = { "outbox.relay.enabled=false", "outbox.relay.lease-duration=60s",
+        "outbox.retry.max-attempts=3", "outbox.retry.initial-backoff=10s" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    private static final AtomicInteger CODES = new AtomicInteger();
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingHandler recordingHandler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ThreadPoolExecutor executor;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RecordingHandler recordingHandler(JdbcTemplate jdbcTemplate) {
+            return new RecordingHandler(jdbcTemplate);
+        }
+    }
+
+    // Notes the row's state while it is being delivered, and fails while told to
+    static class RecordingHandler implements OutboxHandler<OrderStatusChanged> {
+        private final JdbcTemplate jdbcTemplate;
+        private final List<String> seen = new CopyOnWriteArrayList<>();
+        private volatile OffsetDateTime leasedUntil;
+        private volatile boolean failing;
+        private volatile OffsetDateTime reclaimedUntil;
+
+        RecordingHandler(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public String eventType() {
+            return OrderStatusChanged.TYPE;
+        }
+
+        @Override
+        public Class<OrderStatusChanged> payloadType() {
+            return OrderStatusChanged.class;
+        }
+
+        @Override
+        public void handle(OutboxMessage message, OrderStatusChanged payload) {
+            seen.add(jdbcTemplate.queryForObject("SELECT status FROM outbox_events WHERE id = ?", String.class,
+                    message.id()));
+            leasedUntil = jdbcTemplate.queryForObject("SELECT available_at FROM outbox_events WHERE id = ?",
+                    OffsetDateTime.class, message.id());
+            if (reclaimedUntil != null) {
+                // This relay's lease ran out mid-delivery and another relay claimed the event
+                jdbcTemplate.update("UPDATE outbox_events SET available_at = ? WHERE id = ?", reclaimedUntil,
+                        message.id());
+            }
+            if (failing) {
+                throw new IllegalStateException("Downstream unavailable");
+            }
+        }
+    }
+
+    @BeforeEach
+    void startWorkers() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        recordingHandler.seen.clear();
+        recordingHandler.failing = false;
+        recordingHandler.reclaimedUntil = null;
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        ReflectionTestUtils.setField(outboxRelay, "executor", executor);
+    }
+
+    @AfterEach
+    void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void claimedEventIsLeasedAndOnlyClaimedAgainOnceTheLeaseRunsOut() {
+        long id = saveEvent(OrderStatus.PENDING);
+        Instant before = Instant.now();
+
+        assertThat(outboxRelay.relayOnce()).isEqualTo(1);
+
+        assertThat(recordingHandler.seen).containsExactly("PROCESSING");
+        assertThat(recordingHandler.leasedUntil.toInstant())
+                .isBetween(before.plusSeconds(59), Instant.now().plusSeconds(60));
+        assertThat(statusOf(id)).isEqualTo("DELIVERED");
+        assertThat(outboxRelay.relayOnce()).isZero();
+
+        // A relay that died mid-delivery: still leased, so nobody else takes it yet
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'PROCESSING', available_at = ? WHERE id = ?",
+                OffsetDateTime.now().plusSeconds(30), id);
+        assertThat(outboxRelay.relayOnce()).isZero();
+
+        jdbcTemplate.update("UPDATE outbox_events SET available_at = ? WHERE id = ?",
+                OffsetDateTime.now().minusSeconds(1), id);
+        assertThat(outboxRelay.relayOnce()).isEqualTo(1);
+        assertThat(recordingHandler.seen).hasSize(2);
+        assertThat(statusOf(id)).isEqualTo("DELIVERED");
+    }
+
+    @Test
+    void failedDeliveryBacksOffAndIsParkedAfterMaxAttempts() {
+        long id = saveEvent(OrderStatus.PENDING);
+        recordingHandler.failing = true;
+
+        Instant before = Instant.now();
+        outboxRelay.relayOnce();
+        OutboxEvent first = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getLastError()).contains("Downstream unavailable");
+        // 10s with up to 20% jitter either way
+        assertThat(first.getAvailableAt()).isBetween(before.plusSeconds(8), Instant.now().plusSeconds(12));
+        assertThat(outboxRelay.relayOnce()).isZero();
+
+        makeDue(id);
+        before = Instant.now();
+        outboxRelay.relayOnce();
+        OutboxEvent second = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(second.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(second.getAvailableAt()).isBetween(before.plusSeconds(16), Instant.now().plusSeconds(24));
+
+        makeDue(id);
+        outboxRelay.relayOnce();
+        OutboxEvent third = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(third.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(third.getAttempts()).isEqualTo(3);
+
+        makeDue(id);
+        assertThat(outboxRelay.relayOnce()).isZero();
+        assertThat(recordingHandler.seen).hasSize(3);
+    }
+
+    @Test
+    void relayThatLostItsLeaseDoesNotOverwriteTheNewClaim() {
+        long delivered = saveEvent(OrderStatus.PENDING);
+        OffsetDateTime newLease = OffsetDateTime.now(ZoneOffset.UTC).plusSeconds(45).truncatedTo(ChronoUnit.SECONDS);
+        recordingHandler.reclaimedUntil = newLease;
+
+        outboxRelay.relayOnce();
+        assertThat(statusOf(delivered)).isEqualTo("PROCESSING");
+
+        long failed = saveEvent(OrderStatus.PENDING);
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'DELIVERED' WHERE id = ?", delivered);
+        recordingHandler.failing = true;
+        outboxRelay.relayOnce();
+
+        for (long id : List.of(delivered, failed)) {
+            OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+            assertThat(event.getAttempts()).isZero();
+            assertThat(event.getLastError()).isNull();
+            assertThat(event.getAvailableAt()).isEqualTo(newLease.toInstant());
+        }
+        assertThat(statusOf(failed)).isEqualTo("PROCESSING");
+    }
+
+    @Test
+    void cancellationIsAppliedOnceWhenTheEventIsDeliveredAgain() {
+        long variantId = createVariant(10);
+        long couponId = createCoupon();
+        long orderId = createOrder(variantId, 2, couponId);
+        long id = saveEvent(orderId, OrderStatus.CANCELLED);
+
+        outboxRelay.relayOnce();
+        assertThat(stockOf(variantId)).isEqualTo(12);
+        assertThat(usedCountOf(couponId)).isZero();
+
+        // Delivered, but the relay died before recording it, so the lease runs out and it goes again
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'PROCESSING', available_at = ? WHERE id = ?",
+                OffsetDateTime.now().minusSeconds(1), id);
+        assertThat(outboxRelay.relayOnce()).isEqualTo(1);
+
+        assertThat(statusOf(id)).isEqualTo("DELIVERED");
+        assertThat(stockOf(variantId)).isEqualTo(12);
+        assertThat(usedCountOf(couponId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_consumptions WHERE event_id = ?",
+                Long.class, id)).isEqualTo(1);
+    }
+
+    private long saveEvent(OrderStatus to) {
+        return saveEvent(CODES.incrementAndGet(), to);
+    }
+
+    private long saveEvent(long orderId, OrderStatus to) {
+        Instant now = Instant.now().minusSeconds(1);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(
+                    new OrderStatusChanged(orderId, "ORD-" + orderId, OrderStatus.PENDING, to));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(OrderStatusChanged.AGGREGATE)
+                .aggregateId(orderId)
+                .eventType(OrderStatusChanged.TYPE)
+                .payload(payload)
+                .availableAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build()).getId();
+    }
+
+    private void makeDue(long id) {
+        jdbcTemplate.update("UPDATE outbox_events SET available_at = ? WHERE id = ?",
+                OffsetDateTime.now().minusSeconds(1), id);
+    }
+
+    private long createVariant(int quantity) {
+        String sku = "OUTBOX-" + CODES.incrementAndGet();
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Category category = Category.builder()
+                    .name("Jackets").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                    .name("Product " + sku).category(category).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(product);
+            ProductVariant variant = ProductVariant.builder()
+                    .product(product).sku(sku).price(BigDecimal.valueOf(500000))
+                    .costPrice(BigDecimal.valueOf(300000)).quantity(quantity).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(variant);
+            return variant.getId();
+        });
+    }
+
+    private long createCoupon() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            Coupon coupon = Coupon.builder()
+                    .code("OUTBOX-" + CODES.incrementAndGet())
+                    .type(CouponType.PERCENT)
+                    .value(BigDecimal.TEN)
+                    .usageLimit(10)
+                    .usedCount(1)
+                    .validFrom(now.minus(Duration.ofDays(1)))
+                    .validTo(now.plus(Duration.ofDays(1)))
+                    .status(Status.ACTIVE)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            entityManager.persist(coupon);
+            return coupon.getId();
+        });
+    }
+
+    private long createOrder(long variantId, int quantity, long couponId) {
+        int code = CODES.incrementAndGet();
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            ShippingMethod shipping = ShippingMethod.builder()
+                    .name("Standard").fee(BigDecimal.ZERO).status(Status.ACTIVE)
+                    .createdAt(now).updatedAt(now).build();
+            entityManager.persist(shipping);
+            PaymentMethod payment = PaymentMethod.builder()
+                    .name("COD").status(Status.ACTIVE).createdAt(now).updatedAt(now).build();
+            entityManager.persist(payment);
+            Province province = Province.builder().code(code).name("Province " + code).codename("p" + code).build();
+            entityManager.persist(province);
+            Ward ward = Ward.builder().code(code).name("Ward " + code).codename("w" + code).province(province).build();
+            entityManager.persist(ward);
+            ProductVariant variant = entityManager.find(ProductVariant.class, variantId);
+            Order order = Order.builder()
+                    .orderCode("ORD-" + code)
+                    .customerName("Guest")
+                    .shippingAddressLine("1 Test Street")
+                    .shippingWard(ward).shippingWardName(ward.getName())
+                    .shippingProvince(province).shippingProvinceName(province.getName())
+                    .paymentMethod(payment).shippingMethod(shipping)
+                    .coupon(entityManager.getReference(Coupon.class, couponId))
+                    .subtotal(BigDecimal.valueOf(1000000)).total(BigDecimal.valueOf(1000000))
+                    .status(OrderStatus.CANCELLED)
+                    .createdAt(now).updatedAt(now)
+                    .build();
+            order.getDetails().add(OrderDetail.builder()
+                    .order(order).productVariant(variant).productName("Product").size("-").color("-")
+                    .sku(variant.getSku()).price(variant.getPrice()).quantity(quantity)
+                    .build());
+            entityManager.persist(order);
+            return order.getId();
+        });
+    }
+
+    private String statusOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM outbox_events WHERE id = ?", String.class, id);
+    }
+
+    private int stockOf(long variantId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM product_variants WHERE id = ?", Integer.class,
+                variantId);
+    }
+
+    private int usedCountOf(long couponId) {
+        return jdbcTemplate.queryForObject("SELECT used_count FROM coupons WHERE id = ?", Integer.class, couponId);
+    }
+}
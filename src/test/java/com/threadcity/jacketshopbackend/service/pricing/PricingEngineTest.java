@@ -0,0 +1,99 @@
+package com.threadcity.jacketshopbackend.service.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.threadcity.jacketshopbackend.common.Enums.CouponType;
+import com.threadcity.jacketshopbackend.entity.Coupon;
+
+class PricingEngineTest {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final PricingEngine pricingEngine = new PricingEngine();
+
+    @Test
+    void totalsMatchBigDecimalArithmeticExactly() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20_000; run++) {
+            int lineCount = 1 + random.nextInt(50);
+            BigDecimal[] prices = new BigDecimal[lineCount];
+            long[] unitPrices = new long[lineCount];
+            int[] quantities = new int[lineCount];
+            for (int i = 0; i < lineCount; i++) {
+                prices[i] = randomAmount(random, 5_000_000);
+                unitPrices[i] = PricingEngine.toMinor(prices[i]);
+                quantities[i] = 1 + random.nextInt(99);
+            }
+            BigDecimal shippingFee = randomAmount(random, 100_000);
+            Coupon coupon = random.nextInt(4) == 0 ? null : randomCoupon(random);
+
+            PricingEngine.Totals totals = pricingEngine.totals(unitPrices, quantities, lineCount,
+                    PricingEngine.toMinor(shippingFee), coupon == null ? null : PricingEngine.CouponTerms.of(coupon));
+
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int i = 0; i < lineCount; i++) {
+                subtotal = subtotal.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+            }
+            BigDecimal discount = coupon == null ? BigDecimal.ZERO : referenceDiscount(coupon, subtotal);
+            BigDecimal total = subtotal.subtract(discount).add(shippingFee);
+
+            assertThat(PricingEngine.toAmount(totals.subtotal())).isEqualTo(subtotal.setScale(2));
+            assertThat(PricingEngine.toAmount(totals.discount())).isEqualTo(discount.setScale(2));
+            assertThat(PricingEngine.toAmount(totals.total())).isEqualTo(total.setScale(2));
+        }
+    }
+
+    @Test
+    void percentDiscountBeyondLongRangeStillMatches() {
+        Coupon coupon = Coupon.builder().type(CouponType.PERCENT).value(new BigDecimal("99.99")).build();
+        BigDecimal orderValue = new BigDecimal("900000000000000.55");
+
+        long discount = pricingEngine.discount(PricingEngine.CouponTerms.of(coupon), PricingEngine.toMinor(orderValue));
+
+        assertThat(PricingEngine.toAmount(discount)).isEqualTo(referenceDiscount(coupon, orderValue).setScale(2));
+    }
+
+    @Test
+    void discountNeverExceedsOrderValue() {
+        Coupon coupon = Coupon.builder().type(CouponType.AMOUNT).value(new BigDecimal("200000.00")).build();
+
+        long discount = pricingEngine.discount(PricingEngine.CouponTerms.of(coupon), PricingEngine.toMinor(
+                new BigDecimal("150000.00")));
+
+        assertThat(PricingEngine.toAmount(discount)).isEqualTo(new BigDecimal("150000.00"));
+    }
+
+    // The arithmetic CouponService used before it delegated to PricingEngine
+    private static BigDecimal referenceDiscount(Coupon coupon, BigDecimal orderValue) {
+        BigDecimal discount = coupon.getType() == CouponType.PERCENT
+                ? orderValue.multiply(coupon.getValue()).divide(ONE_HUNDRED, 0, RoundingMode.DOWN)
+                : coupon.getValue();
+        if (coupon.getMaxDiscount() != null) {
+            discount = discount.min(coupon.getMaxDiscount());
+        }
+        return discount.min(orderValue);
+    }
+
+    private static Coupon randomCoupon(Random random) {
+        boolean percent = random.nextBoolean();
+        return Coupon.builder()
+                .type(percent ? CouponType.PERCENT : CouponType.AMOUNT)
+                .value(percent ? BigDecimal.valueOf(1 + random.nextInt(10_000), 2) : randomAmount(random, 2_000_000))
+                .maxDiscount(random.nextBoolean() ? randomAmount(random, 1_000_000) : null)
+                .build();
+    }
+
+    // Mostly whole VND, sometimes with cents, as numeric(12,2) allows
+    private static BigDecimal randomAmount(Random random, int maxVnd) {
+        long vnd = random.nextInt(maxVnd);
+        return random.nextInt(5) == 0
+                ? BigDecimal.valueOf(vnd * 100 + random.nextInt(100), 2)
+                : BigDecimal.valueOf(vnd);
+    }
+}
@@ -0,0 +1,105 @@
+package com.threadcity.jacketshopbackend.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.threadcity.jacketshopbackend.service.search.CatalogSearchIndex.Document;
+import com.threadcity.jacketshopbackend.service.search.CatalogSearchIndex.Facet;
+import com.threadcity.jacketshopbackend.service.search.CatalogSearchIndex.Hit;
+
+class CatalogSearchIndexTest {
+
+    private final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    @Test
+    void allTermsMustMatchAndNameMatchesComeFirst() {
+        index.put(document(1, "Parka lining", "Quilted bomber jacket", 10, 1));
+        index.put(document(2, "Bomber jacket", "Quilted lining", 10, 2));
+        index.put(document(3, "Denim jacket", "Washed cotton", 20, 1));
+
+        CatalogSearchIndex.Result result = index.search("jacket bomber", false, Map.of(), 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(Hit::productId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void diacriticsAreFoldedAndTheLastTermCanBeAPrefix() {
+        index.put(document(1, "Áo khoác gió", "Chống nước", 10, 1));
+        index.put(document(2, "Áo len", "", 10, 1));
+
+        assertThat(index.search("ao khoac", false, Map.of(), 10).hits())
+                .extracting(Hit::productId).containsExactly(1L);
+        assertThat(index.search("ao kho", false, Map.of(), 10).total()).isZero();
+        assertThat(index.search("ao kho", true, Map.of(), 10).hits())
+                .extracting(Hit::productId).containsExactly(1L);
+    }
+
+    @Test
+    void filtersOrWithinAFacetAndAndAcrossFacetsWhileCountingTheMatches() {
+        index.put(document(1, "Bomber", "", 10, 1));
+        index.put(document(2, "Bomber", "", 10, 2));
+        index.put(document(3, "Bomber", "", 20, 2));
+        index.put(document(4, "Bomber", "", 30, 3));
+
+        CatalogSearchIndex.Result result = index.search("bomber", false,
+                Map.of(Facet.CATEGORY, Set.of(10L, 20L), Facet.BRAND, Set.of(2L)), 10);
+
+        assertThat(result.hits()).extracting(Hit::productId).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(result.facetCounts().get(Facet.CATEGORY)).containsOnly(Map.entry(10L, 1L), Map.entry(20L, 1L));
+        assertThat(result.facetCounts().get(Facet.BRAND)).containsOnly(Map.entry(2L, 2L));
+    }
+
+    @Test
+    void replacingAndRemovingDropStaleTermsAndReuseSlots() {
+        index.put(document(1, "Leather jacket", "", 10, 1));
+        index.put(document(2, "Wool coat", "", 10, 1));
+
+        index.put(document(1, "Suede jacket", "", 20, 1));
+        index.remove(2);
+        index.put(document(3, "Rain coat", "", 10, 1));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("leather", false, Map.of(), 10).total()).isZero();
+        assertThat(index.search("wool", false, Map.of(), 10).total()).isZero();
+        assertThat(index.search("coat", false, Map.of(), 10).hits())
+                .extracting(Hit::productId).containsExactly(3L);
+        assertThat(index.search("", false, Map.of(), 10).facetCounts().get(Facet.CATEGORY))
+                .containsOnly(Map.entry(10L, 1L), Map.entry(20L, 1L));
+        assertThat(index.suggest("le", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestionsCompleteTheLastWordByFrequency() {
+        index.put(document(1, "Bomber jacket", "", 10, 1));
+        index.put(document(2, "Bomber vest", "", 10, 1));
+        index.put(document(3, "Boots", "", 10, 1));
+
+        assertThat(index.suggest("black bo", 10)).containsExactly("black bomber", "black boots");
+        assertThat(index.suggest("bo", 1)).containsExactly("bomber");
+    }
+
+    @Test
+    void limitCapsHitsButNotTheTotal() {
+        for (long id = 1; id <= 200; id++) {
+            index.put(document(id, "Jacket " + id, "", 10, 1));
+        }
+
+        CatalogSearchIndex.Result result = index.search("jacket", false, Map.of(), 25);
+
+        assertThat(result.total()).isEqualTo(200);
+        assertThat(result.hits()).hasSize(25);
+    }
+
+    private static Document document(long id, String name, String description, long categoryId, long brandId) {
+        Map<Facet, Set<Long>> values = new EnumMap<>(Facet.class);
+        values.put(Facet.CATEGORY, Set.of(categoryId));
+        values.put(Facet.BRAND, Set.of(brandId));
+        return new Document(id, name, description, values);
+    }
+}
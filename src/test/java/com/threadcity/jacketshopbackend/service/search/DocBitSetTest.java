@@ -0,0 +1,116 @@
+package com.threadcity.jacketshopbackend.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DocBitSetTest {
+
+    @Test
+    void behavesLikeJavaUtilBitSet() {
+        Random random = new Random(7);
+        for (int run = 0; run < 2_000; run++) {
+            // Clustered windows anywhere in the range, so both sets grow left and right of their base
+            DocBitSet a = new DocBitSet();
+            DocBitSet b = new DocBitSet();
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            fill(random, a, expectedA);
+            fill(random, b, expectedB);
+
+            assertSame(a, expectedA);
+            assertThat(DocBitSet.intersectionCount(a, b, a.nonZeroWords()))
+                    .isEqualTo(intersection(expectedA, expectedB).cardinality());
+
+            DocBitSet and = a.copy();
+            and.and(b);
+            assertSame(and, intersection(expectedA, expectedB));
+
+            DocBitSet or = a.copy();
+            or.or(b);
+            BitSet expectedOr = (BitSet) expectedA.clone();
+            expectedOr.or(expectedB);
+            assertSame(or, expectedOr);
+
+            // The copies are independent of the original
+            assertSame(a, expectedA);
+        }
+    }
+
+    @Test
+    void clearingEveryBitLeavesAnEmptySet() {
+        DocBitSet bits = new DocBitSet();
+        bits.set(5_000);
+        bits.set(70);
+        bits.set(130_000);
+        bits.clear(70);
+        bits.clear(5_000);
+        bits.clear(130_000);
+        // Outside the stored window
+        bits.clear(1);
+        bits.clear(1_000_000);
+
+        assertThat(bits.isEmpty()).isTrue();
+        assertThat(bits.cardinality()).isZero();
+        assertThat(bits.nextSetBit(0)).isEqualTo(-1);
+        assertThat(bits.nonZeroWords()).isEmpty();
+    }
+
+    @Test
+    void emptySetsCombineWithoutError() {
+        DocBitSet empty = new DocBitSet();
+        DocBitSet bits = new DocBitSet();
+        bits.set(64);
+
+        DocBitSet and = bits.copy();
+        and.and(empty);
+        bits.or(empty);
+        empty.or(bits);
+
+        assertThat(and.isEmpty()).isTrue();
+        assertThat(bits.cardinality()).isEqualTo(1);
+        assertThat(empty.get(64)).isTrue();
+        assertThat(DocBitSet.intersectionCount(new DocBitSet(), bits, bits.nonZeroWords())).isZero();
+    }
+
+    private static void fill(Random random, DocBitSet bits, BitSet expected) {
+        int clusters = random.nextInt(4);
+        for (int c = 0; c < clusters; c++) {
+            int start = random.nextInt(20_000);
+            int width = 1 + random.nextInt(500);
+            for (int n = random.nextInt(40); n > 0; n--) {
+                int doc = start + random.nextInt(width);
+                if (random.nextInt(5) == 0) {
+                    bits.clear(doc);
+                    expected.clear(doc);
+                } else {
+                    bits.set(doc);
+                    expected.set(doc);
+                }
+            }
+        }
+    }
+
+    private static BitSet intersection(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static void assertSame(DocBitSet actual, BitSet expected) {
+        assertThat(actual.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(actual.isEmpty()).isEqualTo(expected.isEmpty());
+        int expectedBit = expected.nextSetBit(0);
+        for (int bit = actual.nextSetBit(0); bit >= 0; bit = actual.nextSetBit(bit + 1)) {
+            assertThat(bit).isEqualTo(expectedBit);
+            assertThat(actual.get(bit)).isTrue();
+            expectedBit = expected.nextSetBit(bit + 1);
+        }
+        assertThat(expectedBit).isEqualTo(-1);
+        int[] words = actual.nonZeroWords();
+        assertThat(words).hasSize((int) expected.stream().map(bit -> bit >>> 6).distinct().count());
+    }
+}
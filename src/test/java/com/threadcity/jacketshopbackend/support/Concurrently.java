@@ -0,0 +1,43 @@
+package com.threadcity.jacketshopbackend.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Releases all tasks at once on a fixed pool and rethrows the first failure
+public final class Concurrently {
+
+    private Concurrently() {
+    }
+
+    public static void run(int threads, int tasks, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        try {
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,34 @@
+package com.threadcity.jacketshopbackend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import com.threadcity.jacketshopbackend.common.SqlStatementRecorder;
+
+// Query-count assertions; the context under test needs DataSourceProxyConfig imported
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    // Runs the action on this thread and fails, listing what ran, when it issues more than max statements
+    public static <T> T atMost(int max, Callable<T> action) throws Exception {
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            T result = action.call();
+            assertThat(recording.getStatementCount())
+                    .as("SQL statements issued:%n%s", describe(recording))
+                    .isLessThanOrEqualTo(max);
+            return result;
+        }
+    }
+
+    private static String describe(SqlStatementRecorder.Recording recording) {
+        return recording.getCountsBySql().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}